@@ -0,0 +1,122 @@
+package com.zhong.projects.benchmarks;
+
+/**
+ * Realistic input sets used by the benchmarks, grouped by category so that every category 
+ * gets its own throughput, average time and allocation numbers.
+ * @author 
+ *
+ */
+final class AmountInputs {
+
+	//Small amounts printed on everyday checks
+	static final String[] SMALL_STRINGS = {
+			"1", "7", "23", "45.10", "99.99", "123.46", "250", "999.99", "1001", "4,999.95"
+	};
+
+	//Amounts with cents only
+	static final String[] CENTS_ONLY_STRINGS = {
+			"0.01", "0.05", "0.1", "0.25", "0.345", "0.5", "0.75", "0.9", "0.99", "0.994"
+	};
+
+	//Comma grouped amounts
+	static final String[] GROUPED_STRINGS = {
+			"7,456,123.20", "1,000", "12,345.67", "999,999.99", "1,234,567", 
+			"45,000,000.01", "7,456,123", "1,000,000,000.50", "123,456,789,012.34", "3,001,001.01"
+	};
+
+	//Amounts close to MAX_VALUE/MIN_VALUE
+	static final String[] EXTREME_STRINGS = {
+			"1000000000000000000", "-1000000000000000000", "999999999999999999.99", "-999999999999999999.99",
+			"999,999,999,999,999,999", "-999,999,999,999,999,999", "001001001001001001.01", "500000000000000000.50"
+	};
+
+	//Negative amounts
+	static final String[] NEGATIVE_STRINGS = {
+			"-1", "-45", "-0.5", "-102234", "-00102234", "-7,456,123.46", "-999.99", "-12.34"
+	};
+
+	//Inputs that are rejected with an exception
+	static final String[] INVALID_STRINGS = {
+			"34567 55", "52345x35.35", "535.353.5", ".2345353535", "74,56,123", 
+			"7,456,123.2,", ",456,123", "1000000000000000001", "-1000000000000000001"
+	};
+
+	static final double[] SMALL_DOUBLES = {
+			1d, 7d, 23d, 45.1d, 99.99d, 123.46d, 250d, 999.99d, 1001d, 4999.95d
+	};
+
+	static final double[] CENTS_ONLY_DOUBLES = {
+			0.01d, 0.05d, 0.1d, 0.25d, 0.345d, 0.5d, 0.75d, 0.9d, 0.99d, 0.994d
+	};
+
+	static final double[] GROUPED_DOUBLES = {
+			7456123.2d, 1000d, 12345.67d, 999999.99d, 1234567d, 
+			45000000.01d, 7456123d, 1000000000.5d, 123456789012.34d, 3001001.01d
+	};
+
+	//Amounts close to MAX_FLOAT_VALUE/MIN_FLOAT_VALUE
+	static final double[] EXTREME_DOUBLES = {
+			9000000000000000d, -9000000000000000d, 8999999999999999d, -8999999999999999d,
+			4503599627370495.5d, 1000000000000.01d, -1000000000000.01d, 8000000000000000d
+	};
+
+	static final double[] NEGATIVE_DOUBLES = {
+			-1d, -45d, -0.5d, -102234d, -999.99d, -12.34d, -7456123.46d, -0.01d
+	};
+
+	static final double[] INVALID_DOUBLES = {
+			9000000000000001d, -9000000000000001d, 1e17d, -1e17d, 
+			Double.MAX_VALUE, -Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+	};
+
+	private AmountInputs() {
+	}
+
+	/**
+	 * Return the string inputs of a category.
+	 * @param category - name of the category, e.g. SMALL.
+	 * @return the inputs of the category.
+	 */
+	static String[] strings(String category) {
+		switch (category) {
+		case "SMALL":
+			return SMALL_STRINGS;
+		case "CENTS_ONLY":
+			return CENTS_ONLY_STRINGS;
+		case "GROUPED":
+			return GROUPED_STRINGS;
+		case "EXTREME":
+			return EXTREME_STRINGS;
+		case "NEGATIVE":
+			return NEGATIVE_STRINGS;
+		case "INVALID":
+			return INVALID_STRINGS;
+		default:
+			throw new IllegalArgumentException("Unknown input category: " + category);
+		}
+	}
+
+	/**
+	 * Return the double inputs of a category.
+	 * @param category - name of the category, e.g. SMALL.
+	 * @return the inputs of the category.
+	 */
+	static double[] doubles(String category) {
+		switch (category) {
+		case "SMALL":
+			return SMALL_DOUBLES;
+		case "CENTS_ONLY":
+			return CENTS_ONLY_DOUBLES;
+		case "GROUPED":
+			return GROUPED_DOUBLES;
+		case "EXTREME":
+			return EXTREME_DOUBLES;
+		case "NEGATIVE":
+			return NEGATIVE_DOUBLES;
+		case "INVALID":
+			return INVALID_DOUBLES;
+		default:
+			throw new IllegalArgumentException("Unknown input category: " + category);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.zhong.projects.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time from starting a JVM to its first conversion, which a JMH fork can not see. The command line converter
+ * is started again and again with one amount on its standard input, and the time until its first output line and until
+ * it exits is reported, the minimum and the median of the runs.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zhong.projects.benchmarks.ColdStart utils/target/utils-cli.jar [runs] [JVM option ...]
+ * </pre>
+ * The JVM options are passed to every run, e.g. "-XX:SharedArchiveFile=utils/target/utils-cli.jsa" to compare the start
+ * with the AppCDS archive built by utils/appcds.sh, or "-XX:TieredStopAtLevel=1".
+ * @author
+ *
+ */
+public class ColdStart {
+
+	//Default number of runs
+	private static final int RUNS = 20;
+
+	//The amount converted by every run
+	private static final String AMOUNT = "1,234.56\n";
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length == 0) {
+			System.err.println("Usage: ColdStart utils-cli.jar [runs] [JVM option ...]");
+			System.exit(2);
+		}
+
+		String jar = args[0];
+		int runs = (args.length > 1) ? Integer.parseInt(args[1]) : RUNS;
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		if (args.length > 2) {
+			command.addAll(Arrays.asList(args).subList(2, args.length));
+		}
+		command.addAll(Arrays.asList("-jar", jar, "-q"));
+
+		long[] firstLines = new long[runs];
+		long[] exits = new long[runs];
+		for (int run = 0; run < runs; run++) {
+			long start = System.nanoTime();
+			Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+			try (OutputStream in = process.getOutputStream()) {
+				in.write(AMOUNT.getBytes(StandardCharsets.US_ASCII));
+			}
+
+			try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+				if (out.readLine() == null) {
+					throw new IllegalStateException("The converter did not convert the amount: " + command);
+				}
+				firstLines[run] = System.nanoTime() - start;
+			}
+			if (process.waitFor() != 0) {
+				throw new IllegalStateException("The converter failed with " + process.exitValue() + ": " + command);
+			}
+			exits[run] = System.nanoTime() - start;
+		}
+
+		System.out.println(String.join(" ", command));
+		report("first conversion", firstLines);
+		report("exit", exits);
+	}
+
+	private static void report(String name, long[] times) {
+		Arrays.sort(times);
+		System.out.printf("%-16s min %6.1f ms, median %6.1f ms%n", name, times[0] / 1e6, times[times.length / 2] / 1e6);
+	}
+}
@@ -0,0 +1,73 @@
+package com.zhong.projects.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhong.projects.NumberTextConverter;
+
+/**
+ * Measures the first calls of a fresh JVM, as a short-lived batch job or worker sees them. Every fork is a new JVM which runs
+ * a single invocation, so the time includes loading and initializing the classes and building the tables, and the code
+ * runs in the interpreter. The numbers are the average over the forks, add "-rf csv" to get every fork.
+ * <p>
+ * firstCall is the first conversion and firstCalls is the sum of the first FIRST_CALLS conversions.
+ * With warmedUp, {@link NumberTextConverter#warmUp()} is called before the measurement, as a worker does while it starts.
+ * The time from the start of the JVM to the first conversion is measured by {@link ColdStart}.
+ * @author
+ *
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class ColdStartBenchmark {
+
+	//Number of conversions measured by firstCalls
+	private static final int FIRST_CALLS = 1000;
+
+	@Param({ "false", "true" })
+	public boolean warmedUp;
+
+	private final String[] inputs = new String[FIRST_CALLS];
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		// The inputs have all categories, so every path of the scanner runs among the first calls.
+		String[][] categories = { AmountInputs.SMALL_STRINGS, AmountInputs.CENTS_ONLY_STRINGS, AmountInputs.GROUPED_STRINGS,
+				                  AmountInputs.EXTREME_STRINGS, AmountInputs.NEGATIVE_STRINGS };
+		for (int i = 0; i < FIRST_CALLS; i++) {
+			String[] category = categories[i % categories.length];
+			inputs[i] = category[i / categories.length % category.length];
+		}
+
+		if (warmedUp) {
+			NumberTextConverter.warmUp();
+		}
+	}
+
+	@Benchmark
+	public String firstCall() throws Exception {
+		return NumberTextConverter.convert("1,234.56");
+	}
+
+	@Benchmark
+	@Measurement(iterations = 1, batchSize = FIRST_CALLS)
+	public String firstCalls() throws Exception {
+		return NumberTextConverter.convert(inputs[next++]);
+	}
+}
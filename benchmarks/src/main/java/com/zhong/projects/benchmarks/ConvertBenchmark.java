@@ -0,0 +1,99 @@
+package com.zhong.projects.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.zhong.projects.NumberTextConverter;
+
+/**
+ * Measures NumberTextConverter.convert(String), tryConvert(CharSequence) and convert(double) per input category.
+ * Every invocation converts the next input of the category, so the numbers are per single conversion.
+ * Run it with "-prof gc" (or use BenchmarkRunner) to see the allocation rate.
+ * @author 
+ *
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConvertBenchmark {
+
+	@Param({ "SMALL", "CENTS_ONLY", "GROUPED", "EXTREME", "NEGATIVE", "INVALID" })
+	public String category;
+
+	private String[] strings;
+
+	private double[] doubles;
+
+	//Index of the next string input
+	private int nextString;
+
+	//Index of the next double input
+	private int nextDouble;
+
+	//The output the lazy texts are appended to, as a writer of a stream would
+	private final StringBuilder out = new StringBuilder(1024);
+
+	@Setup
+	public void setup() {
+		strings = AmountInputs.strings(category);
+		doubles = AmountInputs.doubles(category);
+		nextString = 0;
+		nextDouble = 0;
+	}
+
+	@Benchmark
+	public void convertString(Blackhole bh) {
+		String input = strings[nextString];
+		nextString = (nextString + 1) % strings.length;
+		try {
+			bh.consume(NumberTextConverter.convert(input));
+		} catch (NumberFormatException | NumberTextConverter.NumberOutOfRangeException e) {
+			bh.consume(e);
+		}
+	}
+
+	@Benchmark
+	public void convertLazyAppend(Blackhole bh) {
+		String input = strings[nextString];
+		nextString = (nextString + 1) % strings.length;
+		out.setLength(0);
+		try {
+			bh.consume(NumberTextConverter.convertLazy(input).appendTo(out).length());
+		} catch (NumberFormatException | NumberTextConverter.NumberOutOfRangeException e) {
+			bh.consume(e);
+		}
+	}
+
+	@Benchmark
+	public void tryConvertString(Blackhole bh) {
+		String input = strings[nextString];
+		nextString = (nextString + 1) % strings.length;
+		bh.consume(NumberTextConverter.tryConvert(input));
+	}
+
+	@Benchmark
+	public void convertDouble(Blackhole bh) {
+		double input = doubles[nextDouble];
+		nextDouble = (nextDouble + 1) % doubles.length;
+		try {
+			bh.consume(NumberTextConverter.convert(input));
+		} catch (NumberFormatException | NumberTextConverter.NumberOutOfRangeException e) {
+			bh.consume(e);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.zhong.projects.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.zhong.projects.IncrementalConverter;
+import com.zhong.projects.NumberTextConverter;
+
+/**
+ * Compares converting the amounts of a ledger from scratch and with IncrementalConverter, which keeps the text of the
+ * larger groups that are the same as the ones of the previous amount. SORTED is a statement of increasing balances,
+ * RANDOM has the same amounts shuffled, so consecutive amounts rarely share their groups.
+ * Every invocation converts the whole ledger of LEDGER_SIZE amounts into a buffer, no String is created.
+ * @author
+ *
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IncrementalBenchmark {
+
+	@Param({ "SORTED", "RANDOM" })
+	public String order;
+
+	//Number of amounts of the ledger
+	private static final int LEDGER_SIZE = 1000;
+
+	//The first balance in cents, 12,345,678.90
+	private static final long FIRST_BALANCE = 1234567890L;
+
+	//The largest change between two balances in cents
+	private static final int MAX_CHANGE = 50000;
+
+	private final long[] amounts = new long[LEDGER_SIZE];
+
+	private final IncrementalConverter incremental = new IncrementalConverter();
+
+	private final StringBuilder out = new StringBuilder(256);
+
+	@Setup
+	public void setup() {
+		Random random = new Random(24);
+		long balance = FIRST_BALANCE;
+		for (int i = 0; i < LEDGER_SIZE; i++) {
+			amounts[i] = balance;
+			balance += random.nextInt(MAX_CHANGE);
+		}
+
+		if ("RANDOM".equals(order)) {
+			for (int i = LEDGER_SIZE - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				long amount = amounts[i];
+				amounts[i] = amounts[j];
+				amounts[j] = amount;
+			}
+		}
+	}
+
+	@Benchmark
+	public void fromScratch(Blackhole bh) {
+		for (long amount : amounts) {
+			out.setLength(0);
+			bh.consume(NumberTextConverter.convertCents(amount, out).length());
+		}
+	}
+
+	@Benchmark
+	public void incremental(Blackhole bh) {
+		for (long amount : amounts) {
+			bh.consume(incremental.convertCents(amount).length());
+		}
+	}
+}
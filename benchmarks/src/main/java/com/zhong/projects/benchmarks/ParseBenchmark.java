@@ -0,0 +1,113 @@
+package com.zhong.projects.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhong.projects.ConversionStatus;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+
+/**
+ * Compares parsing the numbers of a batch with the scalar scanner, one character at a time from Strings, 
+ * and with the SWAR scanner, 8 bytes at a time from the bytes of the batch.
+ * Every invocation parses the whole category, so the numbers are per batch of 8 ~ 10 numbers, or 1000 numbers for MIXED.
+ * The few inputs of a category repeat in the same order, which lets the branch predictor learn every branch of the scalar scanner,
+ * while MIXED has the unpredictable lengths and shapes of a real batch.
+ * @author 
+ *
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+	@Param({ "SMALL", "CENTS_ONLY", "GROUPED", "EXTREME", "NEGATIVE", "INVALID", "MIXED" })
+	public String category;
+
+	//Number of inputs of the MIXED category, which has the valid inputs of all categories in a random order
+	private static final int MIXED_SIZE = 1000;
+
+	private String[] strings;
+
+	//The numbers of the category one after another, as a batch file holds them
+	private byte[] batch;
+
+	private int[] offsets;
+
+	private int[] lengths;
+
+	private final ParsedAmount amount = new ParsedAmount();
+
+	@Setup
+	public void setup() {
+		strings = "MIXED".equals(category) ? mixed() : AmountInputs.strings(category);
+		offsets = new int[strings.length];
+		lengths = new int[strings.length];
+
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < strings.length; i++) {
+			offsets[i] = text.length();
+			lengths[i] = strings[i].length();
+			text.append(strings[i]).append('\n');
+		}
+		batch = text.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * The valid inputs of all categories, shuffled with a fixed seed.
+	 */
+	private static String[] mixed() {
+		List<String> all = new ArrayList<>();
+		for (String category : new String[] { "SMALL", "CENTS_ONLY", "GROUPED", "EXTREME", "NEGATIVE" }) {
+			all.addAll(Arrays.asList(AmountInputs.strings(category)));
+		}
+
+		Random random = new Random(19);
+		String[] inputs = new String[MIXED_SIZE];
+		for (int i = 0; i < inputs.length; i++) {
+			inputs[i] = all.get(random.nextInt(all.size()));
+		}
+		return inputs;
+	}
+
+	@Benchmark
+	public int scalarStrings() {
+		int valid = 0;
+		for (String number : strings) {
+			if (NumberTextConverter.tryParse(number, amount) == ConversionStatus.OK) {
+				valid++;
+			}
+		}
+		return valid;
+	}
+
+	@Benchmark
+	public int swarBytes() {
+		int valid = 0;
+		for (int i = 0; i < offsets.length; i++) {
+			if (NumberTextConverter.tryParse(batch, offsets[i], lengths[i], amount) == ConversionStatus.OK) {
+				valid++;
+			}
+		}
+		return valid;
+	}
+}
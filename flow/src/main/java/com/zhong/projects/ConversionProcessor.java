@@ -0,0 +1,444 @@
+package com.zhong.projects;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A reactive stage which converts a stream of amounts to a stream of results, one {@link ConversionResult} per amount in the
+ * order of the amounts. An invalid amount, which the converter would reject with a NumberFormatException or a
+ * NumberOutOfRangeException, is emitted as a result with its status and does not end the stream.
+ * <p>
+ * The processor requests at most batchSize * maxBatchesInFlight amounts from its publisher in advance and requests more only
+ * as its subscriber consumes the results, so a burst of the publisher waits in the publisher and never fills a buffer here.
+ * The amounts which have arrived are converted together as one batch of at most batchSize amounts: a burst is converted in
+ * full batches, a trickle one amount at a time without waiting for a batch to fill. With an executor, up to
+ * maxBatchesInFlight batches are converted at the same time and the results are still emitted in the order of the amounts.
+ * Without one, the batches are converted by the thread which delivers the amounts or requests the results.
+ * <p>
+ * A processor has one publisher and one subscriber, a second subscriber is rejected with an IllegalStateException.
+ * An error of the publisher is passed on after the results of the amounts received before it.
+ * @author
+ *
+ */
+public final class ConversionProcessor implements Flow.Processor<CharSequence, ConversionResult> {
+
+	//Default maximum number of amounts converted by one task
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	private final Converter converter;
+
+	private final int batchSize;
+
+	private final int maxBatchesInFlight;
+
+	private final Executor executor;
+
+	//Number of emitted results after which as many amounts are requested again from the publisher
+	private final long replenishLimit;
+
+	//The amounts received and not yet put in a batch
+	private final ConcurrentLinkedQueue<CharSequence> inputs = new ConcurrentLinkedQueue<>();
+
+	//The batches being converted or emitted, in the order of the amounts. Only drain() uses it.
+	private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+
+	//The amounts polled for the next batch. Only drain() uses it.
+	private final CharSequence[] polled;
+
+	//Number of calls of drain() which are not handled yet, only the first one runs the loop
+	private final AtomicInteger pending = new AtomicInteger();
+
+	//Number of results requested by the subscriber and not emitted yet
+	private final AtomicLong requested = new AtomicLong();
+
+	private final AtomicReference<Flow.Subscriber<? super ConversionResult>> subscriber = new AtomicReference<>();
+
+	//An error which ends the stream at once: a failed conversion or an invalid request of the subscriber
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	private volatile Flow.Subscription upstream;
+
+	private volatile boolean upstreamDone;
+
+	private volatile Throwable upstreamError;
+
+	private volatile boolean cancelled;
+
+	//Number of results emitted since amounts were requested from the publisher. Only drain() uses it.
+	private long consumed;
+
+	//Whether the subscriber was completed, failed or cancelled. Only drain() uses it.
+	private boolean terminated;
+
+	private ConversionProcessor(Builder builder) {
+		this.converter = builder.converter;
+		this.batchSize = builder.batchSize;
+		this.maxBatchesInFlight = builder.maxBatchesInFlight;
+		this.executor = builder.executor;
+		this.replenishLimit = Math.max(1, getPrefetch() / 2);
+		this.polled = new CharSequence[batchSize];
+	}
+
+	/**
+	 * Constructor of a processor with the settings of NumberTextConverter which converts the amounts on the calling threads.
+	 */
+	public ConversionProcessor() {
+		this(builder());
+	}
+
+	/**
+	 * Return a builder of a processor.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Return the maximum number of amounts requested from the publisher and not yet emitted as results.
+	 */
+	public long getPrefetch() {
+		return (long) batchSize * maxBatchesInFlight;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super ConversionResult> subscriber) {
+		Objects.requireNonNull(subscriber, "The subscriber is missing");
+		if (!this.subscriber.compareAndSet(null, subscriber)) {
+			subscriber.onSubscribe(new NoSubscription());
+			subscriber.onError(new IllegalStateException("The processor already has a subscriber"));
+			return;
+		}
+
+		subscriber.onSubscribe(new ResultSubscription());
+		drain();
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		Objects.requireNonNull(subscription, "The subscription is missing");
+		if (upstream != null || cancelled) {
+			subscription.cancel();
+			return;
+		}
+
+		upstream = subscription;
+		subscription.request(getPrefetch());
+	}
+
+	@Override
+	public void onNext(CharSequence number) {
+		Objects.requireNonNull(number, "The amount is missing");
+		inputs.offer(number);
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable error) {
+		Objects.requireNonNull(error, "The error is missing");
+		upstreamError = error;
+		upstreamDone = true;
+		drain();
+	}
+
+	@Override
+	public void onComplete() {
+		upstreamDone = true;
+		drain();
+	}
+
+	/**
+	 * Put the received amounts in batches, emit the converted results as far as the subscriber requested them and end the
+	 * stream once everything is emitted. Only one thread runs the loop at a time, a thread calling it while another one runs
+	 * it makes that one loop again, so the subscriber is always called by one thread at a time.
+	 */
+	private void drain() {
+		if (pending.getAndIncrement() != 0) {
+			return;
+		}
+
+		int missed = 1;
+		do {
+			boolean progress = true;
+			while (progress) {
+				progress = false;
+				if (terminated) {
+					inputs.clear();
+					batches.clear();
+					break;
+				}
+				if (cancelled) {
+					cancelUpstream();
+					terminated = true;
+					progress = true;
+					continue;
+				}
+
+				Flow.Subscriber<? super ConversionResult> downstream = subscriber.get();
+				Throwable error = failure.get();
+				if (error != null && downstream != null) {
+					cancelUpstream();
+					terminated = true;
+					downstream.onError(error);
+					progress = true;
+					continue;
+				}
+
+				progress = submitBatches();
+				if (downstream == null) {
+					continue;
+				}
+
+				long demand = requested.get();
+				long emitted = 0;
+				while (emitted != demand && !cancelled) {
+					Batch head = batches.peek();
+					if (head == null || !head.done) {
+						break;
+					}
+					if (head.error != null) {
+						failure.compareAndSet(null, head.error);
+						progress = true;
+						break;
+					}
+
+					ConversionResult result = head.results[head.next];
+					head.results[head.next++] = null;
+					if (head.next == head.results.length) {
+						batches.poll();
+					}
+					downstream.onNext(result);
+					emitted++;
+
+					if (++consumed == replenishLimit) {
+						consumed = 0;
+						upstream.request(replenishLimit);
+					}
+				}
+				if (emitted != 0) {
+					if (demand != Long.MAX_VALUE) {
+						requested.addAndGet(-emitted);
+					}
+					progress = true;
+				}
+
+				if (upstreamDone && !progress && inputs.isEmpty() && batches.isEmpty()) {
+					terminated = true;
+					Throwable upstreamError = this.upstreamError;
+					if (upstreamError != null) {
+						downstream.onError(upstreamError);
+					} else {
+						downstream.onComplete();
+					}
+				}
+			}
+			missed = pending.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	/**
+	 * Put the received amounts in batches while fewer than maxBatchesInFlight batches are being converted or emitted.
+	 * @return true if a batch was submitted.
+	 */
+	private boolean submitBatches() {
+		boolean submitted = false;
+		while (batches.size() < maxBatchesInFlight) {
+			int size = 0;
+			CharSequence number;
+			while (size < batchSize && (number = inputs.poll()) != null) {
+				polled[size++] = number;
+			}
+			if (size == 0) {
+				break;
+			}
+
+			Batch batch = new Batch(Arrays.copyOf(polled, size));
+			Arrays.fill(polled, 0, size, null);
+			batches.add(batch);
+			submitted = true;
+
+			if (executor == null) {
+				batch.run();
+			} else {
+				try {
+					executor.execute(batch);
+				} catch (RejectedExecutionException e) {
+					// The executor is shut down or saturated, so the batch is converted here.
+					batch.run();
+				}
+			}
+		}
+		return submitted;
+	}
+
+	private void cancelUpstream() {
+		Flow.Subscription subscription = upstream;
+		if (subscription != null) {
+			subscription.cancel();
+		}
+	}
+
+	/**
+	 * Amounts converted by one task, and their results.
+	 */
+	private final class Batch implements Runnable {
+
+		private final CharSequence[] numbers;
+
+		private final ConversionResult[] results;
+
+		//Index of the next result to emit. Only drain() uses it.
+		private int next;
+
+		//Set before done, so it's visible once done is
+		private Throwable error;
+
+		private volatile boolean done;
+
+		Batch(CharSequence[] numbers) {
+			this.numbers = numbers;
+			this.results = new ConversionResult[numbers.length];
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (int i = 0; i < numbers.length; i++) {
+					results[i] = converter.tryConvert(numbers[i]);
+				}
+			} catch (RuntimeException e) {
+				// tryConvert reports invalid amounts in the result, so this is an unexpected failure which ends the stream.
+				error = e;
+			}
+			done = true;
+			drain();
+		}
+	}
+
+	/**
+	 * The subscription of the subscriber of the results.
+	 */
+	private final class ResultSubscription implements Flow.Subscription {
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				failure.compareAndSet(null, new IllegalArgumentException("The number of requested results should be positive: " + n));
+			} else {
+				long current;
+				long next;
+				do {
+					current = requested.get();
+					next = current + n;
+					if (next < 0) {
+						next = Long.MAX_VALUE;
+					}
+				} while (!requested.compareAndSet(current, next));
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			drain();
+		}
+	}
+
+	/**
+	 * The subscription given to a rejected subscriber before its error.
+	 */
+	private static final class NoSubscription implements Flow.Subscription {
+
+		@Override
+		public void request(long n) {
+		}
+
+		@Override
+		public void cancel() {
+		}
+	}
+
+	/**
+	 * Builds a processor. The builder itself is not thread-safe, the defaults are the settings of NumberTextConverter,
+	 * DEFAULT_BATCH_SIZE, two batches per available processor and no executor.
+	 */
+	public static final class Builder {
+
+		private Converter converter = Converter.DEFAULT;
+
+		private int batchSize = DEFAULT_BATCH_SIZE;
+
+		private int maxBatchesInFlight = 2 * Runtime.getRuntime().availableProcessors();
+
+		private Executor executor;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the converter of the amounts.
+		 * @param converter - the words, the precision, the rounding and the range.
+		 * @return this builder.
+		 */
+		public Builder converter(Converter converter) {
+			if (converter == null) {
+				throw new IllegalArgumentException("The converter is missing");
+			}
+			this.converter = converter;
+			return this;
+		}
+
+		/**
+		 * Set the maximum number of amounts converted by one task.
+		 * @param batchSize - the maximum number of amounts of a batch.
+		 * @return this builder.
+		 */
+		public Builder batchSize(int batchSize) {
+			if (batchSize <= 0) {
+				throw new IllegalArgumentException("The batch size should be positive: " + batchSize);
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Set the maximum number of batches converted or waiting to be emitted at the same time. With the batch size, it bounds
+		 * the number of amounts requested from the publisher in advance.
+		 * @param maxBatchesInFlight - the maximum number of batches.
+		 * @return this builder.
+		 */
+		public Builder maxBatchesInFlight(int maxBatchesInFlight) {
+			if (maxBatchesInFlight <= 0) {
+				throw new IllegalArgumentException("The number of batches should be positive: " + maxBatchesInFlight);
+			}
+			this.maxBatchesInFlight = maxBatchesInFlight;
+			return this;
+		}
+
+		/**
+		 * Set the executor which converts the batches, so several batches are converted in parallel.
+		 * @param executor - the executor, or null to convert the batches on the threads calling the processor.
+		 * @return this builder.
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Build the processor. A processor is used for one stream, the builder can build more.
+		 * @return the processor.
+		 */
+		public ConversionProcessor build() {
+			return new ConversionProcessor(this);
+		}
+	}
+}
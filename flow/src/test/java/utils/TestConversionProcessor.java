@@ -0,0 +1,244 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import com.zhong.projects.ConversionProcessor;
+import com.zhong.projects.ConversionResult;
+import com.zhong.projects.ConversionStatus;
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test converting a stream of amounts with a Flow.Processor")
+class TestConversionProcessor {
+
+	private final static String[] SCENARIOS = {
+			"1,234.56", "1,23", "0", "", "-7.5", "1000000000000000001", "abc", "999999999999999999.99", "5"
+	};
+
+	private final static ConversionStatus[] STATUSES = {
+			ConversionStatus.OK, ConversionStatus.MISPLACED_COMMA, ConversionStatus.OK, ConversionStatus.EMPTY, ConversionStatus.OK,
+			ConversionStatus.OUT_OF_RANGE, ConversionStatus.INVALID_FORMAT, ConversionStatus.OK, ConversionStatus.OK
+	};
+
+	@Test
+	@DisplayName("Invalid amounts are emitted as results and the stream completes")
+	void testInvalidAmounts() throws Exception {
+		ConversionProcessor processor = new ConversionProcessor();
+		Recorder recorder = new Recorder(Long.MAX_VALUE);
+		processor.subscribe(recorder);
+		new ArrayPublisher(SCENARIOS).subscribe(processor);
+
+		assertTrue(recorder.await());
+		assertNull(recorder.error);
+		assertEquals(SCENARIOS.length, recorder.results.size());
+		for (int i = 0; i < SCENARIOS.length; i++) {
+			ConversionResult result = recorder.results.get(i);
+			assertEquals(STATUSES[i], result.getStatus(), SCENARIOS[i]);
+			assertEquals(NumberTextConverter.tryConvert(SCENARIOS[i]).getText(), result.getText(), SCENARIOS[i]);
+		}
+	}
+
+	@Test
+	@DisplayName("No more amounts are requested than the subscriber consumes and the processor can hold")
+	void testBackpressure() throws Exception {
+		String[] numbers = new String[10000];
+		for (int i = 0; i < numbers.length; i++) {
+			numbers[i] = Integer.toString(i);
+		}
+		ArrayPublisher publisher = new ArrayPublisher(numbers);
+		ConversionProcessor processor = ConversionProcessor.builder().batchSize(16).maxBatchesInFlight(2).build();
+		Recorder recorder = new Recorder(0);
+		processor.subscribe(recorder);
+		publisher.subscribe(processor);
+
+		assertEquals(32, processor.getPrefetch());
+		assertEquals(32, publisher.emitted);
+		assertEquals(0, recorder.results.size());
+
+		recorder.subscription.request(10);
+		assertEquals(10, recorder.results.size());
+		assertTrue(publisher.emitted <= 10 + 32);
+
+		recorder.subscription.request(numbers.length);
+		assertTrue(recorder.await());
+		assertEquals(numbers.length, recorder.results.size());
+		assertEquals(NumberTextConverter.convert("9999"), recorder.results.get(numbers.length - 1).getText());
+	}
+
+	@Test
+	@DisplayName("Batches converted in parallel are emitted in the order of the amounts")
+	void testExecutor() throws Exception {
+		Converter british = Converter.builder().locale(Locale.UK).build();
+		Random random = new Random(25);
+		String[] numbers = new String[20000];
+		for (int i = 0; i < numbers.length; i++) {
+			numbers[i] = (random.nextInt(10) == 0) ? "x" + i : Long.toString(random.nextLong() >> random.nextInt(64)) + ".25";
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ConversionProcessor processor = ConversionProcessor.builder().converter(british).batchSize(7).maxBatchesInFlight(8)
+					.executor(executor).build();
+			Recorder recorder = new Recorder(Long.MAX_VALUE);
+			processor.subscribe(recorder);
+			new ArrayPublisher(numbers).subscribe(processor);
+
+			assertTrue(recorder.await());
+			assertNull(recorder.error);
+			assertEquals(numbers.length, recorder.results.size());
+			for (int i = 0; i < numbers.length; i++) {
+				ConversionResult expected = british.tryConvert(numbers[i]);
+				ConversionResult result = recorder.results.get(i);
+				assertEquals(expected.getStatus(), result.getStatus(), numbers[i]);
+				assertEquals(expected.getText(), result.getText(), numbers[i]);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	@DisplayName("Errors of the publisher and of the subscribers end the stream")
+	void testErrors() throws Exception {
+		ConversionProcessor processor = new ConversionProcessor();
+		Recorder recorder = new Recorder(Long.MAX_VALUE);
+		processor.subscribe(recorder);
+		Recorder second = new Recorder(Long.MAX_VALUE);
+		processor.subscribe(second);
+		assertTrue(second.await());
+		assertTrue(second.error instanceof IllegalStateException);
+
+		ArrayPublisher publisher = new ArrayPublisher(new String[] { "1", "2" });
+		publisher.failure = new IllegalStateException("The source failed");
+		publisher.subscribe(processor);
+		assertTrue(recorder.await());
+		assertEquals(2, recorder.results.size());
+		assertEquals(publisher.failure, recorder.error);
+
+		processor = new ConversionProcessor();
+		Recorder invalid = new Recorder(0);
+		processor.subscribe(invalid);
+		invalid.subscription.request(0);
+		assertTrue(invalid.await());
+		assertTrue(invalid.error instanceof IllegalArgumentException);
+	}
+
+	/**
+	 * Publishes an array on the thread which requests the amounts, then completes or fails.
+	 */
+	private static final class ArrayPublisher implements Flow.Publisher<CharSequence> {
+
+		private final String[] numbers;
+
+		private Throwable failure;
+
+		private int emitted;
+
+		private long requested;
+
+		private boolean emitting;
+
+		private boolean cancelled;
+
+		ArrayPublisher(String[] numbers) {
+			this.numbers = numbers;
+		}
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super CharSequence> subscriber) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+
+				@Override
+				public synchronized void request(long n) {
+					requested += n;
+					if (emitting) {
+						return;
+					}
+
+					emitting = true;
+					while (requested > 0 && emitted < numbers.length && !cancelled) {
+						requested--;
+						subscriber.onNext(numbers[emitted++]);
+					}
+					if (emitted == numbers.length && !cancelled) {
+						cancelled = true;
+						if (failure != null) {
+							subscriber.onError(failure);
+						} else {
+							subscriber.onComplete();
+						}
+					}
+					emitting = false;
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Records the results, requesting the given number of them once subscribed.
+	 */
+	private static final class Recorder implements Flow.Subscriber<ConversionResult> {
+
+		private final List<ConversionResult> results = Collections.synchronizedList(new ArrayList<>());
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private final long initialRequest;
+
+		private volatile Flow.Subscription subscription;
+
+		private volatile Throwable error;
+
+		Recorder(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		boolean await() throws InterruptedException {
+			return done.await(10, TimeUnit.SECONDS);
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (initialRequest > 0) {
+				subscription.request(initialRequest);
+			}
+		}
+
+		@Override
+		public void onNext(ConversionResult result) {
+			results.add(result);
+		}
+
+		@Override
+		public void onError(Throwable error) {
+			this.error = error;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+	}
+}
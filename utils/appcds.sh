@@ -0,0 +1,28 @@
+#!/bin/sh
+# Builds an AppCDS archive of the classes the command line converter loads, so that a JVM maps them from the archive
+# instead of loading, parsing and verifying them from the jar at every start. It needs JDK 13 or later and nothing from
+# the network, run it after "mvn package":
+#
+#   utils/appcds.sh
+#   java -XX:SharedArchiveFile=utils/target/utils-cli.jsa -jar utils/target/utils-cli.jar [option ...] [file ...]
+#
+# The archive only works with the same JDK and the same jar, it has to be built again after either changes.
+# The start with and without the archive is compared by the ColdStart class of the benchmarks.
+set -e
+
+TARGET="$(dirname "$0")/target"
+JAR="$TARGET/utils-cli.jar"
+ARCHIVE="$TARGET/utils-cli.jsa"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+if [ ! -f "$JAR" ]; then
+    echo "$JAR is missing, run mvn package first" >&2
+    exit 1
+fi
+
+# The training run converts every kind of amount, valid and invalid, so every class of a real run is loaded.
+printf '%s\n' 0 1 7.5 0.01 -45 999.995 1,234.56 7,456,123.46 1000000000000000000 -999999999999999999.99 \
+    12,34 .5 1e3 abc '' ' 42 ' 1000000000000000001 \
+    | "$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -jar "$JAR" -e -q > /dev/null
+
+echo "Built $ARCHIVE"
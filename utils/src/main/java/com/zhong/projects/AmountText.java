@@ -0,0 +1,156 @@
+package com.zhong.projects;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The text of a converted number which is only produced when it's read. It keeps the parsed number and the vocabulary whose
+ * tables hold the words, so creating it costs one small object and no characters. Appending it to an output or writing it
+ * into a buffer copies the words straight from the tables without building the text. The text is built once the characters
+ * are read with {@link #charAt(int)}, {@link #subSequence(int, int)} or {@link #toString()}, and kept for later calls.
+ * <p>
+ * The length is computed when it's created and {@link #length()} is O(1). Two texts are equal if they have the same value
+ * and the same vocabulary, the characters are not compared. The text is immutable and can be shared by threads.
+ * @author
+ *
+ */
+public final class AmountText implements CharSequence {
+
+	//The text of an empty input
+	static final AmountText EMPTY = new AmountText(null, false, 0, 0);
+
+	//The words of the text, null for the empty text
+	private final Vocabulary vocabulary;
+
+	private final boolean negative;
+
+	private final long dollars;
+
+	private final int cents;
+
+	private final int length;
+
+	//The text once it's built. Threads building it at the same time build the same String.
+	private String text;
+
+	/**
+	 * Constructor
+	 * @param vocabulary - the words of the text.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number in units of the precision.
+	 */
+	AmountText(Vocabulary vocabulary, boolean negative, long dollars, int cents) {
+		this.vocabulary = vocabulary;
+		this.negative = negative;
+		this.dollars = dollars;
+		this.cents = cents;
+		this.length = (vocabulary == null) ? 0 : vocabulary.textLength(negative, dollars, cents);
+		this.text = (vocabulary == null) ? "" : null;
+	}
+
+	/**
+	 * Return whether the number is negative.
+	 */
+	public boolean isNegative() {
+		return negative;
+	}
+
+	/**
+	 * Return the integer part of the absolute value of the number.
+	 */
+	public long getDollars() {
+		return dollars;
+	}
+
+	/**
+	 * Return the fraction part of the absolute value of the number in units of the precision, e.g. cents.
+	 */
+	public int getCents() {
+		return cents;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		return toString().charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return toString().subSequence(start, end);
+	}
+
+	/**
+	 * Append the text to the output. The words are appended from the tables, the text is not built.
+	 * @param out - the output the text is appended to.
+	 * @return the output passed in.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	public <A extends Appendable> A appendTo(A out) throws IOException {
+		if (text != null) {
+			out.append(text);
+		} else {
+			vocabulary.appendAmount(negative, dollars, cents, out);
+		}
+		return out;
+	}
+
+	/**
+	 * Append the text to the buffer, see {@link #appendTo(Appendable)}.
+	 * @param out - the buffer the text is appended to.
+	 * @return the buffer passed in.
+	 */
+	public StringBuilder appendTo(StringBuilder out) {
+		try {
+			appendTo((Appendable) out);
+			return out;
+		} catch (IOException e) {
+			// A StringBuilder never throws an IOException.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Write the text as UTF-8 bytes into the buffer from its position, see {@link NumberTextConverter#convert(ParsedAmount, ByteBuffer)}.
+	 * @param out - the buffer the text is written into.
+	 * @return the number of bytes written, or the negated number of bytes needed if the text does not fit.
+	 */
+	public int writeTo(ByteBuffer out) {
+		return (vocabulary == null) ? 0 : vocabulary.encodeAmount(negative, dollars, cents, out);
+	}
+
+	@Override
+	public String toString() {
+		String built = text;
+		if (built == null) {
+			built = NumberTextConverter.convert(negative, dollars, cents, vocabulary);
+			text = built;
+		}
+		return built;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof AmountText)) {
+			return false;
+		}
+
+		AmountText amount = (AmountText) other;
+		return vocabulary == amount.vocabulary && negative == amount.negative && dollars == amount.dollars && cents == amount.cents;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = Long.hashCode(dollars);
+		hash = 31 * hash + cents;
+		return negative ? -hash : hash;
+	}
+}
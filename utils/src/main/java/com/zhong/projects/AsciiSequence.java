@@ -0,0 +1,64 @@
+package com.zhong.projects;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A CharSequence view of a range of bytes in a ByteBuffer, every byte is one ISO-8859-1 character.
+ * It lets the scanner of NumberTextConverter parse numbers straight from a mapped file without decoding them 
+ * into Strings first. The view is reset for every number, so it's not thread-safe.
+ * @author 
+ *
+ */
+final class AsciiSequence implements CharSequence {
+
+	private ByteBuffer buffer;
+
+	//Absolute position of the first byte in the buffer
+	private int offset;
+
+	private int length;
+
+	/**
+	 * Point the view to another range of bytes.
+	 * @param buffer - the buffer holding the bytes.
+	 * @param offset - absolute position of the first byte.
+	 * @param length - number of bytes.
+	 * @return this view.
+	 */
+	AsciiSequence reset(ByteBuffer buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+		return this;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+		}
+		return (char) (buffer.get(offset + index) & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("Range: " + start + " ~ " + end + ", length: " + length);
+		}
+		return new AsciiSequence().reset(buffer, offset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) (buffer.get(offset + i) & 0xFF);
+		}
+		return new String(chars);
+	}
+}
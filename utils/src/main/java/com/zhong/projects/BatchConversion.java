@@ -0,0 +1,111 @@
+package com.zhong.projects;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join tasks converting a batch of numbers. A task splits its range in halves until it's small enough, 
+ * then converts the numbers one by one with the scratch objects of the worker thread.
+ * @author 
+ *
+ */
+final class BatchConversion {
+
+	//A range with no more numbers than this is converted by one task.
+	static final int LEAF_SIZE = 512;
+
+	//Initial capacity of the scratch buffer, enough for most of the texts
+	private static final int SCRATCH_CAPACITY = 256;
+
+	//Scratch objects of each worker thread, reused for every number converted by the thread
+	private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+		@Override
+		protected Scratch initialValue() {
+			return new Scratch();
+		}
+	};
+
+	private BatchConversion() {
+	}
+
+	/**
+	 * Scratch objects of a worker thread.
+	 */
+	private static final class Scratch {
+		final ParsedAmount amount = new ParsedAmount();
+		final StringBuilder text = new StringBuilder(SCRATCH_CAPACITY);
+	}
+
+	/**
+	 * Converts numbers represented as strings. Invalid numbers are reported in the result without throwing exceptions.
+	 */
+	static final class StringTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final List<? extends CharSequence> numbers;
+		private final BatchResult result;
+		private final int from;
+		private final int to;
+
+		StringTask(List<? extends CharSequence> numbers, BatchResult result, int from, int to) {
+			this.numbers = numbers;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > LEAF_SIZE) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new StringTask(numbers, result, from, middle), new StringTask(numbers, result, middle, to));
+				return;
+			}
+
+			Scratch scratch = SCRATCH.get();
+			for (int i = from; i < to; i++) {
+				ConversionStatus status = NumberTextConverter.tryParse(numbers.get(i), scratch.amount);
+				if (status.isError()) {
+					result.set(i, status, null);
+				} else {
+					scratch.text.setLength(0);
+					result.set(i, status, NumberTextConverter.convert(scratch.amount, scratch.text).toString());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts amounts in cents, all of them are valid.
+	 */
+	static final class CentsTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final long[] amountsInCents;
+		private final String[] texts;
+		private final int from;
+		private final int to;
+
+		CentsTask(long[] amountsInCents, String[] texts, int from, int to) {
+			this.amountsInCents = amountsInCents;
+			this.texts = texts;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > LEAF_SIZE) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new CentsTask(amountsInCents, texts, from, middle), new CentsTask(amountsInCents, texts, middle, to));
+				return;
+			}
+
+			StringBuilder text = SCRATCH.get().text;
+			for (int i = from; i < to; i++) {
+				text.setLength(0);
+				texts[i] = NumberTextConverter.convertCents(amountsInCents[i], text).toString();
+			}
+		}
+	}
+}
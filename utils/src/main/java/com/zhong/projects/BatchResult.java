@@ -0,0 +1,96 @@
+package com.zhong.projects;
+
+import java.util.List;
+
+/**
+ * The result of converting a batch of numbers. For every number of the batch, in the order of the input, 
+ * it holds the status and, unless the number is invalid, the converted text. 
+ * The exception of an invalid number is only created if it's asked for.
+ * @author 
+ *
+ */
+public final class BatchResult {
+
+	//The converted numbers, used for the messages of the exceptions
+	private final List<? extends CharSequence> numbers;
+
+	//Converted texts, null for the invalid numbers
+	private final String[] texts;
+
+	//Status of every number
+	private final ConversionStatus[] statuses;
+
+	/**
+	 * Constructor
+	 * @param numbers - the numbers of the batch.
+	 */
+	BatchResult(List<? extends CharSequence> numbers) {
+		this.numbers = numbers;
+		texts = new String[numbers.size()];
+		statuses = new ConversionStatus[numbers.size()];
+	}
+
+	/**
+	 * Store the result of a number, called by the batch conversion.
+	 * @param index - index of the number in the batch.
+	 * @param status - the status of the number.
+	 * @param text - the converted text, null if the number is invalid.
+	 */
+	void set(int index, ConversionStatus status, String text) {
+		statuses[index] = status;
+		texts[index] = text;
+	}
+
+	/**
+	 * Return the number of numbers in the batch.
+	 */
+	public int size() {
+		return texts.length;
+	}
+
+	/**
+	 * Return whether the number at the index was converted.
+	 * @param index - index of the number in the batch.
+	 */
+	public boolean isValid(int index) {
+		return !statuses[index].isError();
+	}
+
+	/**
+	 * Return the status of the number at the index.
+	 * @param index - index of the number in the batch.
+	 */
+	public ConversionStatus getStatus(int index) {
+		return statuses[index];
+	}
+
+	/**
+	 * Return the converted text of the number at the index, or null if the number is invalid.
+	 * @param index - index of the number in the batch.
+	 */
+	public String getText(int index) {
+		return texts[index];
+	}
+
+	/**
+	 * Return the exception the throwing convert method would have thrown for the number at the index, 
+	 * or null if the number was converted. It's either a NumberFormatException or a NumberOutOfRangeException.
+	 * @param index - index of the number in the batch.
+	 */
+	public Exception getError(int index) {
+		return NumberTextConverter.createException(statuses[index], numbers.get(index));
+	}
+
+	/**
+	 * Return the number of invalid numbers in the batch.
+	 */
+	public int getErrorCount() {
+		int count = 0;
+		for (ConversionStatus status : statuses) {
+			if (status.isError()) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
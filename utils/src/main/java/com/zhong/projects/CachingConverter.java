@@ -0,0 +1,284 @@
+package com.zhong.projects;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An optional cache in front of NumberTextConverter. Texts are cached by the normalized amount, i.e., the signed number 
+ * of cents, so "1,000.00", "1000" and 1000.0d share one entry. The cache is bounded either by the number of entries or by 
+ * the estimated number of bytes of the entries, the least recently used entries are evicted first.
+ * It's thread-safe. The entries are spread over segments with their own locks, so threads rarely wait for each other.
+ * Amounts which do not fit into a long as cents, i.e., above about 92 quadrillion dollars, are converted without caching.
+ * @author 
+ *
+ */
+public final class CachingConverter {
+
+	//Maximal number of segments, a power of 2. A smaller cache has fewer segments, so every segment can hold an entry.
+	private static final int SEGMENTS = 16;
+
+	//Estimated bytes used by an entry besides the characters of the text: the map entry, the key and the String
+	private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+	//Expected bytes of an entry with a typical text, used to choose the number of segments of a cache bounded by bytes
+	private static final int EXPECTED_ENTRY_BYTES = ENTRY_OVERHEAD_BYTES + 64;
+
+	//Amounts with more dollars than this are not cached, because their cents do not fit into a long.
+	private static final long MAX_CACHED_DOLLARS = Long.MAX_VALUE / 100 - 1;
+
+	private final Segment[] segments;
+
+	//True if the size is measured in bytes rather than entries
+	private final boolean weighBytes;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Create a cache holding at most the given number of entries.
+	 * @param maximumEntries - the maximal number of cached texts.
+	 */
+	public CachingConverter(int maximumEntries) {
+		this(maximumEntries, false);
+	}
+
+	/**
+	 * Create a cache whose entries use at most about the given number of bytes.
+	 * @param maximumBytes - the maximal estimated size of the cached texts in bytes.
+	 * @return the cache.
+	 */
+	public static CachingConverter withMaximumBytes(long maximumBytes) {
+		return new CachingConverter(maximumBytes, true);
+	}
+
+	private CachingConverter(long maximumSize, boolean weighBytes) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("The maximal size of the cache must be positive: " + maximumSize);
+		}
+
+		this.weighBytes = weighBytes;
+		// Split the size so that the sizes of the segments add up to exactly the maximal size.
+		long expectedEntries = weighBytes ? Math.max(1, maximumSize / EXPECTED_ENTRY_BYTES) : maximumSize;
+		int segmentCount = (int) Long.highestOneBit(Math.min(SEGMENTS, expectedEntries));
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Convert a number represented as a string to text, see {@link NumberTextConverter#convert(String)}.
+	 * @param number - the number represented as a string which will be converted. 
+	 * @return converted text.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public String convert(String number) throws NumberFormatException, NumberTextConverter.NumberOutOfRangeException {
+		ParsedAmount amount = new ParsedAmount();
+		if (!NumberTextConverter.parse(number, amount)) {
+			return "";
+		}
+
+		return convert(amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Convert a float number to text, see {@link NumberTextConverter#convert(double)}.
+	 * @param number - the number which will be converted to text.
+	 * @return the converted text.
+	 * @throws NumberFormatException - thrown if the number is NaN.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public String convert(double number) throws NumberFormatException, NumberTextConverter.NumberOutOfRangeException {
+		ParsedAmount amount = new ParsedAmount();
+		NumberTextConverter.parse(number, amount);
+
+		return convert(amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Convert an amount of cents to text, see {@link NumberTextConverter#convertCents(long)}.
+	 * @param amountInCents - the amount in cents which will be converted to text.
+	 * @return the converted text.
+	 */
+	public String convertCents(long amountInCents) {
+		String text = lookup(amountInCents);
+		if (text == null) {
+			text = NumberTextConverter.convertCents(amountInCents);
+			store(amountInCents, text);
+		}
+
+		return text;
+	}
+
+	/**
+	 * Convert a parsed number, using the cache if its cents fit into a long.
+	 */
+	private String convert(boolean negative, long dollars, int cents) {
+		if (dollars > MAX_CACHED_DOLLARS) {
+			return NumberTextConverter.convert(negative, dollars, cents);
+		}
+
+		long key = dollars * 100 + cents;
+		if (negative) {
+			key = -key;
+		}
+
+		String text = lookup(key);
+		if (text == null) {
+			text = NumberTextConverter.convert(negative, dollars, cents);
+			store(key, text);
+		}
+
+		return text;
+	}
+
+	/**
+	 * Return the cached text of the amount and count the hit or miss.
+	 */
+	private String lookup(long key) {
+		String text = segmentFor(key).get(key);
+		if (text != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+
+		return text;
+	}
+
+	/**
+	 * Cache the text of the amount, evicting the least recently used entries of its segment if needed.
+	 */
+	private void store(long key, String text) {
+		long evicted = segmentFor(key).put(key, text, weighBytes ? ENTRY_OVERHEAD_BYTES + text.length() : 1);
+		if (evicted > 0) {
+			evictions.add(evicted);
+		}
+	}
+
+	private Segment segmentFor(long key) {
+		// Mix the bits so that consecutive amounts are spread over all segments.
+		return segments[(int) ((key * 0x9E3779B97F4A7C15L) >>> 60) & (segments.length - 1)];
+	}
+
+	/**
+	 * Return the number of conversions answered from the cache.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Return the number of conversions which had to compute the text.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Return the number of entries evicted to keep the cache within its size.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Return the ratio of hits to all cached lookups, 0 if there was no lookup yet.
+	 */
+	public double getHitRate() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	/**
+	 * Return the number of cached texts.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Remove all cached texts. The counters are not reset.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * A part of the cache with its own lock, keeping its entries in the order of access.
+	 */
+	private static final class Segment {
+		private final LinkedHashMap<Long, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+		private final long maximumWeight;
+		private long weight;
+
+		Segment(long maximumWeight) {
+			this.maximumWeight = maximumWeight;
+		}
+
+		synchronized String get(long key) {
+			Entry entry = map.get(key);
+			return entry == null ? null : entry.text;
+		}
+
+		/**
+		 * Add an entry and evict the least recently used ones until the segment is within its size.
+		 * An entry which alone is above the size is evicted as well.
+		 * @return the number of evicted entries.
+		 */
+		synchronized long put(long key, String text, int entryWeight) {
+			Entry previous = map.put(key, new Entry(text, entryWeight));
+			if (previous != null) {
+				weight -= previous.weight;
+			}
+			weight += entryWeight;
+
+			long evicted = 0;
+			Iterator<Map.Entry<Long, Entry>> eldest = map.entrySet().iterator();
+			while (weight > maximumWeight) {
+				Entry entry = eldest.next().getValue();
+				eldest.remove();
+				weight -= entry.weight;
+				evicted++;
+			}
+
+			return evicted;
+		}
+
+		synchronized int size() {
+			return map.size();
+		}
+
+		synchronized void clear() {
+			map.clear();
+			weight = 0;
+		}
+	}
+
+	/**
+	 * A cached text with its weight.
+	 */
+	private static final class Entry {
+		final String text;
+		final int weight;
+
+		Entry(String text, int weight) {
+			this.text = text;
+			this.weight = weight;
+		}
+	}
+}
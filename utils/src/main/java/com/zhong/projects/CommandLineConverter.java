@@ -0,0 +1,412 @@
+package com.zhong.projects;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The command line converter, which converts amounts from the standard input or files to the standard output, one per line.
+ * Every output line has the amount, the delimiter and the text, and with the error column the delimiter and the status
+ * of an invalid amount, which has an empty text. The lines are written in the order of the input.
+ * <p>
+ * The input is read in large blocks, which are split at line ends and converted by a pool of workers while the next blocks
+ * are read, and the converted blocks are written in order. At most two blocks per worker are in memory at any time,
+ * so the memory used does not depend on the size of the input. A line longer than a block is reported as an invalid amount
+ * with only its first bytes echoed, the rest of it is skipped. The throughput is reported to the standard error at the end.
+ * <pre>
+ * java -jar utils-cli.jar [-d delimiter] [-e] [-t threads] [-q] [file ...]
+ * </pre>
+ * The input is the standard input if no file or "-" is given.
+ * @author
+ *
+ */
+public final class CommandLineConverter {
+
+	//Default delimiter between the columns of an output line
+	public static final String DEFAULT_DELIMITER = "\t";
+
+	//Size of a block of the input converted by one task, which is also the longest line accepted
+	static final int BLOCK_SIZE = 1024 * 1024;
+
+	//Number of bytes of a line longer than a block which are echoed
+	private static final int MAX_ECHO_SIZE = 64;
+
+	//Expected length of the text, the delimiters and the status of one line besides the echoed amount, used to size the buffers
+	private static final int EXPECTED_TEXT_SIZE = 64;
+
+	//The file name standing for the standard input
+	private static final String STANDARD_INPUT = "-";
+
+	//Exit codes
+	private static final int EXIT_OK = 0;
+
+	private static final int EXIT_IO_ERROR = 1;
+
+	private static final int EXIT_USAGE = 2;
+
+	private static final String USAGE = "Usage: CommandLineConverter [-d delimiter] [-e] [-t threads] [-q] [file ...]\n"
+			+ "  -d delimiter  the delimiter between the columns, a tab by default, \\t stands for a tab\n"
+			+ "  -e            add a column with the status of the invalid amounts\n"
+			+ "  -t threads    the number of worker threads, the number of processors by default\n"
+			+ "  -q            do not report the throughput\n"
+			+ "  file          a file of amounts, - or none for the standard input";
+
+	private static final byte NEW_LINE = '\n';
+
+	private static final byte CARRIAGE_RETURN = '\r';
+
+	private CommandLineConverter() {
+	}
+
+	/**
+	 * The options of the command line.
+	 */
+	static final class Options {
+		String delimiter = DEFAULT_DELIMITER;
+		boolean errorColumn;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean quiet;
+		final List<String> files = new ArrayList<>();
+
+		/**
+		 * Parse the arguments of the command line.
+		 * @throws IllegalArgumentException - thrown if an argument is not valid.
+		 */
+		static Options parse(String[] args) {
+			Options options = new Options();
+			for (int i = 0; i < args.length; i++) {
+				String arg = args[i];
+				if ("-d".equals(arg) && i + 1 < args.length) {
+					options.delimiter = args[++i].replace("\\t", "\t");
+					for (int c = 0; c < options.delimiter.length(); c++) {
+						if (options.delimiter.charAt(c) > 0xFF) {
+							throw new IllegalArgumentException("The delimiter must be ISO-8859-1 characters: " + options.delimiter);
+						}
+					}
+				} else if ("-e".equals(arg)) {
+					options.errorColumn = true;
+				} else if ("-t".equals(arg) && i + 1 < args.length) {
+					options.threads = Integer.parseInt(args[++i]);
+					if (options.threads <= 0) {
+						throw new IllegalArgumentException("The number of threads must be positive: " + options.threads);
+					}
+				} else if ("-q".equals(arg)) {
+					options.quiet = true;
+				} else if (arg.startsWith("-") && !STANDARD_INPUT.equals(arg)) {
+					throw new IllegalArgumentException("Unknown option: " + arg);
+				} else {
+					options.files.add(arg);
+				}
+			}
+
+			if (options.files.isEmpty()) {
+				options.files.add(STANDARD_INPUT);
+			}
+			return options;
+		}
+	}
+
+	public static void main(String[] args) {
+		int code = run(args, System.in, System.out, System.err);
+		if (code != EXIT_OK) {
+			System.exit(code);
+		}
+	}
+
+	/**
+	 * Run the converter with the given arguments and streams.
+	 * @param args - the arguments of the command line.
+	 * @param stdin - the standard input.
+	 * @param stdout - the output of the converted lines.
+	 * @param stderr - the output of the errors and the throughput.
+	 * @return the exit code, 0 if every input was converted, 1 if an input could not be read or written and 2 if the arguments are wrong.
+	 */
+	public static int run(String[] args, InputStream stdin, OutputStream stdout, PrintStream stderr) {
+		Options options;
+		try {
+			options = Options.parse(args);
+		} catch (IllegalArgumentException e) {
+			stderr.println(e.getMessage());
+			stderr.println(USAGE);
+			return EXIT_USAGE;
+		}
+
+		long start = System.nanoTime();
+		long lines = 0;
+		long rejected = 0;
+		ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+		try {
+			WritableByteChannel out = Channels.newChannel(stdout);
+			for (String file : options.files) {
+				FileConverter.Summary summary;
+				if (STANDARD_INPUT.equals(file)) {
+					summary = convert(Channels.newChannel(stdin), out, options, executor);
+				} else {
+					try (FileChannel in = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+						summary = convert(in, out, options, executor);
+					}
+				}
+				lines += summary.getLines();
+				rejected += summary.getRejected();
+			}
+			stdout.flush();
+		} catch (IOException e) {
+			stderr.println("Failed to convert: " + e);
+			return EXIT_IO_ERROR;
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if (!options.quiet) {
+			double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+			stderr.printf("%d lines, %d rejected, %.3f s, %.0f lines/s%n", lines, rejected, seconds, lines / seconds);
+		}
+		return EXIT_OK;
+	}
+
+	/**
+	 * Convert the lines of the input to the output.
+	 * @param in - the input with one amount per line.
+	 * @param out - the output of the converted lines.
+	 * @param options - the options of the command line.
+	 * @param executor - the executor converting the blocks, its number of threads is given by the options.
+	 * @return the numbers of converted and rejected lines.
+	 * @throws IOException - thrown if the input can not be read or the output can not be written.
+	 */
+	static FileConverter.Summary convert(ReadableByteChannel in, WritableByteChannel out, Options options, ExecutorService executor)
+			throws IOException {
+		int maxInFlight = 2 * options.threads;
+		ArrayDeque<Future<BlockResult>> inFlight = new ArrayDeque<>();
+		ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+		long lines = 0;
+		long rejected = 0;
+		boolean end = false;
+		boolean skipping = false;
+
+		while (!end || !inFlight.isEmpty()) {
+			// Read the next block and submit its complete lines, the rest of the last line is kept for the next block.
+			while (!end && inFlight.size() < maxInFlight) {
+				end = fill(in, buffer);
+				if (skipping) {
+					// Drop the rest of a line longer than the buffer up to its end.
+					int skipped = firstLineEnd(buffer);
+					if (skipped < 0) {
+						buffer.clear();
+						continue;
+					}
+					buffer.flip();
+					buffer.position(skipped);
+					buffer.compact();
+					skipping = false;
+					if (!end) {
+						continue;
+					}
+				}
+
+				int length = end ? buffer.position() : lastLineEnd(buffer);
+				if (length < 0) {
+					// A line longer than the buffer is rejected instead of being held in memory.
+					inFlight.add(CompletableFuture.completedFuture(rejectLongLine(buffer, options)));
+					buffer.clear();
+					skipping = true;
+					continue;
+				}
+
+				if (length > 0) {
+					byte[] block = new byte[length];
+					buffer.flip();
+					buffer.get(block);
+					buffer.compact();
+					inFlight.add(executor.submit(new BlockTask(block, options)));
+				}
+			}
+
+			if (!inFlight.isEmpty()) {
+				BlockResult result = await(inFlight.poll());
+				ByteBuffer bytes = ByteBuffer.wrap(result.texts);
+				while (bytes.hasRemaining()) {
+					out.write(bytes);
+				}
+				lines += result.lines;
+				rejected += result.rejected;
+			}
+		}
+
+		return new FileConverter.Summary(lines, rejected);
+	}
+
+	/**
+	 * Read until the buffer is full or the input ends.
+	 * @return true if the input ended.
+	 */
+	private static boolean fill(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer) < 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the number of bytes up to the first new line in the buffer, or -1 if there's none.
+	 */
+	private static int firstLineEnd(ByteBuffer buffer) {
+		for (int i = 0; i < buffer.position(); i++) {
+			if (buffer.get(i) == NEW_LINE) {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the output of a line longer than the buffer, an invalid amount with the first bytes of the line echoed.
+	 */
+	private static BlockResult rejectLongLine(ByteBuffer buffer, Options options) {
+		StringBuilder text = new StringBuilder(MAX_ECHO_SIZE + EXPECTED_TEXT_SIZE);
+		for (int i = 0; i < MAX_ECHO_SIZE; i++) {
+			text.append((char) (buffer.get(i) & 0xFF));
+		}
+		text.append(options.delimiter);
+		if (options.errorColumn) {
+			text.append(options.delimiter).append(ConversionStatus.INVALID_FORMAT);
+		}
+		text.append('\n');
+
+		BlockResult result = new BlockResult();
+		result.texts = toBytes(text);
+		result.lines = 1;
+		result.rejected = 1;
+		return result;
+	}
+
+	/**
+	 * Return the number of bytes up to the last new line in the buffer, or -1 if there's none.
+	 */
+	private static int lastLineEnd(ByteBuffer buffer) {
+		for (int i = buffer.position() - 1; i >= 0; i--) {
+			if (buffer.get(i) == NEW_LINE) {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Wait for the result of a block.
+	 */
+	private static BlockResult await(Future<BlockResult> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while converting the input");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Failed to convert a block of the input", e.getCause());
+		}
+	}
+
+	/**
+	 * Encode the characters as ISO-8859-1, which keeps the bytes of the echoed amounts unchanged.
+	 */
+	private static byte[] toBytes(StringBuilder text) {
+		byte[] bytes = new byte[text.length()];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) text.charAt(i);
+		}
+		return bytes;
+	}
+
+	/**
+	 * The converted lines of one block.
+	 */
+	private static final class BlockResult {
+		//Converted lines encoded in ISO-8859-1, which keeps the bytes of the echoed amounts unchanged
+		byte[] texts;
+		long lines;
+		long rejected;
+	}
+
+	/**
+	 * Converts the lines of one block of the input.
+	 */
+	private static final class BlockTask implements Callable<BlockResult> {
+		private final byte[] block;
+		private final Options options;
+
+		BlockTask(byte[] block, Options options) {
+			this.block = block;
+			this.options = options;
+		}
+
+		@Override
+		public BlockResult call() {
+			ByteBuffer buffer = ByteBuffer.wrap(block);
+			BlockResult result = new BlockResult();
+			// Every line echoes its amount, so the bytes of the block plus the expected text of every line are reserved.
+			int lineCount = 0;
+			for (byte b : block) {
+				if (b == NEW_LINE) {
+					lineCount++;
+				}
+			}
+			if (block.length > 0 && block[block.length - 1] != NEW_LINE) {
+				lineCount++;
+			}
+			StringBuilder texts = new StringBuilder((int) Math.min(block.length + (long) lineCount * EXPECTED_TEXT_SIZE, 
+					Integer.MAX_VALUE / 2));
+			ParsedAmount amount = new ParsedAmount();
+			AsciiSequence line = new AsciiSequence();
+
+			int lineStart = 0;
+			while (lineStart < block.length) {
+				int lineEnd = lineStart;
+				while (lineEnd < block.length && block[lineEnd] != NEW_LINE) {
+					lineEnd++;
+				}
+				int to = (lineEnd > lineStart && block[lineEnd - 1] == CARRIAGE_RETURN) ? lineEnd - 1 : lineEnd;
+				result.lines++;
+
+				line.reset(buffer, lineStart, to - lineStart);
+				texts.append(line).append(options.delimiter);
+				ConversionStatus status = NumberTextConverter.tryParse(block, lineStart, to - lineStart, amount);
+				if (status.isError()) {
+					result.rejected++;
+				} else {
+					NumberTextConverter.convert(amount, texts);
+				}
+				if (options.errorColumn) {
+					texts.append(options.delimiter);
+					if (status.isError()) {
+						texts.append(status);
+					}
+				}
+				texts.append('\n');
+
+				lineStart = lineEnd + 1;
+			}
+
+			result.texts = toBytes(texts);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.zhong.projects;
+
+/**
+ * The result of converting a number without throwing an exception: the status and, unless the number is invalid, the text.
+ * @author 
+ *
+ */
+public final class ConversionResult {
+
+	private final ConversionStatus status;
+
+	private final String text;
+
+	/**
+	 * Constructor
+	 * @param status - the outcome of the conversion.
+	 * @param text - the converted text, null if the number is invalid.
+	 */
+	ConversionResult(ConversionStatus status, String text) {
+		this.status = status;
+		this.text = text;
+	}
+
+	/**
+	 * Return the outcome of the conversion.
+	 */
+	public ConversionStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Return whether a text was produced. An empty input produces an empty text.
+	 */
+	public boolean isValid() {
+		return !status.isError();
+	}
+
+	/**
+	 * Return the converted text, or null if the number is invalid.
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Return the string representation of this class.
+	 */
+	public String toString() {
+		return isValid() ? text : status.toString();
+	}
+}
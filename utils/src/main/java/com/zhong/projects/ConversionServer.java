@@ -0,0 +1,389 @@
+package com.zhong.projects;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A small HTTP server which converts amounts to text with NumberTextConverter, for the services which can not call the JVM.
+ * It's built on the HTTP server of the JDK, which keeps HTTP/1.1 connections alive between requests.
+ * Every request runs on its own virtual thread when the JVM has them, or on a cached thread pool otherwise.
+ * <ul>
+ * <li>GET /convert?amount=1,234.56 returns the text of one amount, or the status with 400 if it's invalid.</li>
+ * <li>POST /convert/batch takes one amount per line and returns one line per amount, in the same order: the text,
+ * or "!" followed by the status if the amount is invalid. The lines are converted and written while the body is read,
+ * so batches of any size are streamed through.</li>
+ * <li>GET /stats returns the numbers of requests and amounts and the latency of the requests, one "name=value" per line.</li>
+ * </ul>
+ * The texts are encoded in UTF-8.
+ * @author
+ *
+ */
+public final class ConversionServer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConversionServer.class);
+
+	//Default port of the server started by main
+	public static final int DEFAULT_PORT = 8080;
+
+	public static final String CONVERT_PATH = "/convert";
+
+	public static final String BATCH_PATH = "/convert/batch";
+
+	public static final String STATS_PATH = "/stats";
+
+	//The query parameter holding the amount
+	private static final String AMOUNT_PARAMETER = "amount=";
+
+	//The prefix of the line of an invalid amount in a batch response
+	private static final char REJECT_PREFIX = '!';
+
+	private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+
+	//Size of the buffers of the batch streams
+	private static final int BUFFER_SIZE = 8192;
+
+	//Number of latency buckets. Bucket i is for latencies of 2^i ~ 2^(i+1) - 1 nanoseconds, the last one has the rest.
+	private static final int LATENCY_BUCKETS = 48;
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	private final LongAdder requests = new LongAdder();
+
+	private final LongAdder amounts = new LongAdder();
+
+	private final LongAdder rejected = new LongAdder();
+
+	private final LongAdder failedRequests = new LongAdder();
+
+	private final LongAdder[] latencies = new LongAdder[LATENCY_BUCKETS];
+
+	//The time the server was started, used for the throughput
+	private final long startTime = System.nanoTime();
+
+	private ConversionServer(HttpServer server, ExecutorService executor) {
+		this.server = server;
+		this.executor = executor;
+		for (int i = 0; i < LATENCY_BUCKETS; i++) {
+			latencies[i] = new LongAdder();
+		}
+
+		server.createContext(CONVERT_PATH, new Endpoint() {
+			@Override
+			void serve(HttpExchange exchange) throws IOException {
+				serveConvert(exchange);
+			}
+		});
+		server.createContext(BATCH_PATH, new Endpoint() {
+			@Override
+			void serve(HttpExchange exchange) throws IOException {
+				serveBatch(exchange);
+			}
+		});
+		server.createContext(STATS_PATH, new Endpoint() {
+			@Override
+			void serve(HttpExchange exchange) throws IOException {
+				send(exchange, 200, getStats().format());
+			}
+		});
+		server.setExecutor(executor);
+	}
+
+	/**
+	 * Start a server listening on the loopback address.
+	 * @param port - the port, 0 for any free port.
+	 * @return the started server.
+	 * @throws IOException - thrown if the port can not be bound.
+	 */
+	public static ConversionServer start(int port) throws IOException {
+		return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Start a server listening on the given address.
+	 * @param address - the address and the port, the port 0 for any free port.
+	 * @return the started server.
+	 * @throws IOException - thrown if the address can not be bound.
+	 */
+	public static ConversionServer start(InetSocketAddress address) throws IOException {
+		HttpServer server = HttpServer.create(address, 0);
+		ConversionServer conversionServer = new ConversionServer(server, newExecutor());
+		server.start();
+		LOGGER.info("Conversion server listening on {}", server.getAddress());
+		return conversionServer;
+	}
+
+	/**
+	 * Start a server on the port given as the first argument, or {@link #DEFAULT_PORT}, on all addresses.
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		start(new InetSocketAddress(port));
+	}
+
+	/**
+	 * Create an executor running every task on a new virtual thread. Virtual threads are looked up by reflection,
+	 * so the server also runs on the JVMs without them, using a cached pool of platform threads.
+	 */
+	static ExecutorService newExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOGGER.debug("Virtual threads are not available, using a cached thread pool", e);
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Return the port the server listens on.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stop the server, waiting for the running requests to finish.
+	 * @param delaySeconds - the longest time to wait for the running requests.
+	 */
+	public void stop(int delaySeconds) {
+		server.stop(delaySeconds);
+		executor.shutdown();
+		try {
+			executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Take a copy of the statistics of the server.
+	 */
+	public Stats getStats() {
+		long[] counts = new long[LATENCY_BUCKETS];
+		for (int i = 0; i < LATENCY_BUCKETS; i++) {
+			counts[i] = latencies[i].sum();
+		}
+		return new Stats(requests.sum(), failedRequests.sum(), amounts.sum(), rejected.sum(),
+				System.nanoTime() - startTime, counts);
+	}
+
+	/**
+	 * Convert the amount of the query.
+	 */
+	private void serveConvert(HttpExchange exchange) throws IOException {
+		String amount = queryAmount(exchange.getRequestURI().getRawQuery());
+		if (amount == null) {
+			send(exchange, 400, "The parameter amount is missing");
+			return;
+		}
+
+		StringBuilder text = new StringBuilder();
+		ConversionStatus status = NumberTextConverter.tryConvert(amount, text);
+		amounts.increment();
+		if (status.isError()) {
+			rejected.increment();
+			send(exchange, 400, status.toString());
+		} else {
+			send(exchange, 200, text.toString());
+		}
+	}
+
+	/**
+	 * Convert the amounts of the body line by line, writing each text as soon as it's converted.
+	 */
+	private void serveBatch(HttpExchange exchange) throws IOException {
+		if (!"POST".equals(exchange.getRequestMethod())) {
+			send(exchange, 405, "The batch must be posted");
+			return;
+		}
+
+		exchange.getResponseHeaders().set("Content-Type", TEXT_TYPE);
+		// The length is unknown, the response is sent in chunks.
+		exchange.sendResponseHeaders(200, 0);
+
+		ParsedAmount amount = new ParsedAmount();
+		StringBuilder text = new StringBuilder();
+		try (BufferedReader in = new BufferedReader(
+						new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), BUFFER_SIZE);
+				Writer out = new BufferedWriter(
+						new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				text.setLength(0);
+				ConversionStatus status = NumberTextConverter.tryParse(line, amount);
+				if (status.isError()) {
+					rejected.increment();
+					text.append(REJECT_PREFIX).append(status);
+				} else {
+					NumberTextConverter.convert(amount, text);
+				}
+				amounts.increment();
+				out.append(text).append('\n');
+			}
+		}
+	}
+
+	/**
+	 * Return the decoded value of the amount parameter, or null if there's none.
+	 */
+	private static String queryAmount(String query) throws UnsupportedEncodingException {
+		if (query == null) {
+			return null;
+		}
+
+		for (String parameter : query.split("&")) {
+			if (parameter.startsWith(AMOUNT_PARAMETER)) {
+				return URLDecoder.decode(parameter.substring(AMOUNT_PARAMETER.length()), "UTF-8");
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Send a whole text as the response.
+	 */
+	private static void send(HttpExchange exchange, int code, String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", TEXT_TYPE);
+		exchange.sendResponseHeaders(code, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Handles the requests of a path, counting them and measuring their latency.
+	 */
+	private abstract class Endpoint implements HttpHandler {
+
+		abstract void serve(HttpExchange exchange) throws IOException;
+
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			long start = System.nanoTime();
+			try {
+				serve(exchange);
+			} catch (IOException | RuntimeException e) {
+				failedRequests.increment();
+				LOGGER.warn("Failed to serve {}", exchange.getRequestURI(), e);
+				throw e;
+			} finally {
+				// Closing the exchange drains what's left of the request body, so the connection can be kept alive.
+				exchange.close();
+				requests.increment();
+				long nanos = System.nanoTime() - start;
+				latencies[Math.min(LATENCY_BUCKETS - 1, Math.max(0, 63 - Long.numberOfLeadingZeros(nanos)))].increment();
+			}
+		}
+	}
+
+	/**
+	 * An immutable copy of the statistics of the server.
+	 */
+	public static final class Stats {
+
+		private final long requests;
+
+		private final long failedRequests;
+
+		private final long amounts;
+
+		private final long rejected;
+
+		private final long uptimeNanos;
+
+		private final long[] latencies;
+
+		Stats(long requests, long failedRequests, long amounts, long rejected, long uptimeNanos, long[] latencies) {
+			this.requests = requests;
+			this.failedRequests = failedRequests;
+			this.amounts = amounts;
+			this.rejected = rejected;
+			this.uptimeNanos = uptimeNanos;
+			this.latencies = latencies;
+		}
+
+		/**
+		 * Return the number of requests served, including the failed ones.
+		 */
+		public long getRequests() {
+			return requests;
+		}
+
+		/**
+		 * Return the number of requests which failed with an I/O error, e.g. the client closed the connection.
+		 */
+		public long getFailedRequests() {
+			return failedRequests;
+		}
+
+		/**
+		 * Return the number of amounts converted or rejected, by single and batch requests.
+		 */
+		public long getAmounts() {
+			return amounts;
+		}
+
+		/**
+		 * Return the number of invalid amounts.
+		 */
+		public long getRejected() {
+			return rejected;
+		}
+
+		/**
+		 * Return the number of amounts per second since the server was started.
+		 */
+		public double getAmountsPerSecond() {
+			return amounts * 1e9 / Math.max(1, uptimeNanos);
+		}
+
+		/**
+		 * Return an upper bound of the latency in nanoseconds which the given fraction of the requests do not exceed.
+		 * @param fraction - the fraction between 0 and 1, e.g. 0.99.
+		 */
+		public long getLatencyPercentileNanos(double fraction) {
+			return ConverterMetrics.percentile(latencies, fraction);
+		}
+
+		/**
+		 * Format the statistics as "name=value" lines.
+		 */
+		String format() {
+			return "requests=" + requests + "\nfailedRequests=" + failedRequests + "\namounts=" + amounts
+					+ "\nrejected=" + rejected + "\namountsPerSecond=" + (long) getAmountsPerSecond()
+					+ "\nlatencyP50Nanos=" + getLatencyPercentileNanos(0.5)
+					+ "\nlatencyP99Nanos=" + getLatencyPercentileNanos(0.99) + "\n";
+		}
+
+		@Override
+		public String toString() {
+			return "requests=" + requests + ", amounts=" + amounts + ", rejected=" + rejected
+					+ ", p50=" + getLatencyPercentileNanos(0.5) + "ns, p99=" + getLatencyPercentileNanos(0.99) + "ns";
+		}
+	}
+}
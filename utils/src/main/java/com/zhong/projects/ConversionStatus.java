@@ -0,0 +1,34 @@
+package com.zhong.projects;
+
+/**
+ * The outcome of parsing or converting a number without throwing an exception.
+ * @author 
+ *
+ */
+public enum ConversionStatus {
+
+	//The number is valid.
+	OK,
+
+	//The input is null or only has spaces, it's converted to an empty text.
+	EMPTY,
+
+	//The number starts with '.'.
+	LEADING_DOT,
+
+	//A ',' is not a multiple of 3 digits away from the '.', or it's at the start or after the '.'.
+	MISPLACED_COMMA,
+
+	//The input has other characters than a sign, digits, ',', one '.' and an exponent, or it has no digits.
+	INVALID_FORMAT,
+
+	//The number is out of the supported range.
+	OUT_OF_RANGE;
+
+	/**
+	 * Return whether the status stands for an invalid input, i.e., the throwing methods throw an exception for it.
+	 */
+	public boolean isError() {
+		return this != OK && this != EMPTY;
+	}
+}
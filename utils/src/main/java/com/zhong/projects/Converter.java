@@ -0,0 +1,566 @@
+package com.zhong.projects;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+import com.zhong.projects.NumberTextConverter.NumberOutOfRangeException;
+
+/**
+ * A configured number to text converter: the words, the precision of the fraction, the rounding and the range.
+ * An instance is immutable and thread-safe, its tables and limits are computed once by the {@link Builder}, so any number of
+ * differently configured instances can be shared by all threads without locks or looking up the configuration for each call.
+ * The static methods of NumberTextConverter use {@link #DEFAULT}.
+ * @author
+ *
+ */
+public final class Converter {
+
+	//The largest absolute value of the integer part, MIN_VALUE is -MAX_VALUE. The same as NumberTextConverter.MAX_VALUE.
+	private static final long MAX_DOLLARS = 1000000000000000000L;
+
+	//The largest supported precision, the fraction is converted as one group of 3 digits.
+	private static final int MAX_PRECISION = 3;
+
+	//The converter used by NumberTextConverter: English, 2 fraction digits rounded HALF_UP, up to 1 quintillion
+	public static final Converter DEFAULT = builder().build();
+
+	private final Vocabulary vocabulary;
+
+	//Number of fraction digits kept
+	final int precision;
+
+	//Place value of each fraction digit within the precision, e.g. 10 and 1 for cents
+	final int[] placeValues;
+
+	//Number of fraction units in one integer unit, e.g. 100 cents in a dollar
+	final int unitsPerWhole;
+
+	final RoundingMode roundingMode;
+
+	//The largest absolute value of the integer part
+	final long maxDollars;
+
+	private Converter(Builder builder) {
+		this.vocabulary = builder.vocabulary;
+		this.precision = builder.precision;
+		this.roundingMode = builder.roundingMode;
+		this.maxDollars = builder.maxDollars;
+
+		this.placeValues = new int[precision];
+		int placeValue = 1;
+		for (int i = precision - 1; i >= 0; i--) {
+			placeValues[i] = placeValue;
+			placeValue *= 10;
+		}
+		this.unitsPerWhole = placeValue;
+	}
+
+	/**
+	 * Return a builder with the settings of {@link #DEFAULT}.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Return a builder with the settings of this converter, e.g. to create a similar one for another currency.
+	 */
+	public Builder toBuilder() {
+		Builder builder = new Builder();
+		builder.vocabulary = vocabulary;
+		builder.precision = precision;
+		builder.roundingMode = roundingMode;
+		builder.maxDollars = maxDollars;
+		return builder;
+	}
+
+	/**
+	 * Return the words of the converter.
+	 */
+	public Vocabulary getVocabulary() {
+		return vocabulary;
+	}
+
+	/**
+	 * Return the number of fraction digits kept.
+	 */
+	public int getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Return how the fraction is rounded to the precision.
+	 */
+	public RoundingMode getRoundingMode() {
+		return roundingMode;
+	}
+
+	/**
+	 * Return the largest supported number, the smallest one is its negation.
+	 */
+	public BigDecimal getMaxValue() {
+		return BigDecimal.valueOf(maxDollars);
+	}
+
+	/**
+	 * Convert a number represented as a string to text.
+	 * @param number - the number represented as a string which will be converted.
+	 * @return converted text, which is empty for null or an empty string.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public String convert(String number) throws NumberFormatException, NumberOutOfRangeException {
+		return convert(number, vocabulary);
+	}
+
+	/**
+	 * Convert a number represented as a string to text with the given words and the other settings of this converter.
+	 */
+	String convert(String number, Vocabulary words) throws NumberFormatException, NumberOutOfRangeException {
+		// Verify the input is a valid number, null or an empty string is converted to an empty text.
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+		String text = (status == ConversionStatus.OK) ? toText(amount, words) : "";
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.STRING, status, number, amount.dollars, startTime);
+		checkStatus(status, number);
+
+		return text;
+	}
+
+	/**
+	 * Convert a float number to text.
+	 * @param number - the number which will be converted to text.
+	 * @return the converted text.
+	 * @throws NumberFormatException - thrown if the number is not a valid float number, i.e., NaN.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public String convert(double number) throws NumberFormatException, NumberOutOfRangeException {
+		return convert(number, vocabulary);
+	}
+
+	/**
+	 * Convert a float number to text with the given words and the other settings of this converter.
+	 */
+	String convert(double number, Vocabulary words) throws NumberFormatException, NumberOutOfRangeException {
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+		String text = (status == ConversionStatus.OK) ? toText(amount, words) : "";
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.DOUBLE, status, null, amount.dollars, startTime);
+		checkStatus(number, status);
+
+		return text;
+	}
+
+	/**
+	 * Convert a float number to text. The number is rounded from its shortest decimal representation as a float, 
+	 * e.g. 0.005f is rounded up to one cent although the float is slightly less than 0.005.
+	 * It has its own name so that int and long arguments, which Java would widen to a float first, are converted as doubles.
+	 * @param number - the number which will be converted to text.
+	 * @return the converted text.
+	 * @throws NumberFormatException - thrown if the number is not a valid float number, i.e., NaN.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public String convertFloat(float number) throws NumberFormatException, NumberOutOfRangeException {
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParseFloat(number, amount, this);
+		String text = (status == ConversionStatus.OK) ? toText(amount, vocabulary) : "";
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.DOUBLE, status, null, amount.dollars, startTime);
+		checkStatus(number, status);
+
+		return text;
+	}
+
+	/**
+	 * Convert a number represented as a string to text and append the text to the given output.
+	 * Nothing is appended if the input is null or empty.
+	 * @param number - the number represented as a string which will be converted.
+	 * @param out - the output the text is appended to.
+	 * @return the output passed in.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	public <A extends Appendable> A convert(CharSequence number, A out)
+			throws NumberFormatException, NumberOutOfRangeException, IOException {
+		// Verify the input is a valid number, nothing is appended for null or an empty string.
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+		if (status == ConversionStatus.OK) {
+			vocabulary.appendAmount(amount.negative, amount.dollars, amount.cents, out);
+		}
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.STRING, status, number, amount.dollars, startTime);
+		checkStatus(status, number);
+
+		return out;
+	}
+
+	/**
+	 * Convert a number represented as a string to a text which is only produced when it's read, see {@link AmountText}.
+	 * The number is parsed and validated now, so the errors are the ones of {@link #convert(String)}.
+	 * @param number - the number represented as a string which will be converted.
+	 * @return the text, which is empty for null or an empty string.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public AmountText convertLazy(CharSequence number) throws NumberFormatException, NumberOutOfRangeException {
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.STRING, status, number, amount.dollars, startTime);
+		checkStatus(status, number);
+
+		return convertLazy(amount);
+	}
+
+	/**
+	 * Convert a parsed number to a text which is only produced when it's read, see {@link AmountText}.
+	 * @param amount - the number parsed by this converter.
+	 * @return the text, which is empty if the holder has no number, i.e., the input was empty.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public AmountText convertLazy(ParsedAmount amount) {
+		if (amount.status.isError()) {
+			throw new IllegalArgumentException("The number is not valid: " + amount.status);
+		}
+
+		if (amount.status == ConversionStatus.EMPTY) {
+			return AmountText.EMPTY;
+		}
+		return new AmountText(vocabulary, amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Convert a number represented as a string to text. It never throws an exception.
+	 * @param number - the number represented as a string which will be converted.
+	 * @return the status and the text, which is empty for an empty input and null for an invalid number.
+	 */
+	public ConversionResult tryConvert(CharSequence number) {
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+		ConversionResult result = toResult(status, amount);
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.STRING, status, number, amount.dollars, startTime);
+
+		return result;
+	}
+
+	/**
+	 * Convert a float number to text. It never throws an exception.
+	 * @param number - the number which will be converted to text.
+	 * @return the status and the text, which is null for an invalid number.
+	 */
+	public ConversionResult tryConvert(double number) {
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+		ConversionResult result = toResult(status, amount);
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.DOUBLE, status, null, amount.dollars, startTime);
+
+		return result;
+	}
+
+	/**
+	 * Convert a number represented as a string to text and append the text to the given buffer. It never throws an exception.
+	 * Nothing is appended if the number is empty or invalid.
+	 * @param number - the number represented as a string which will be converted.
+	 * @param out - the buffer the text is appended to.
+	 * @return the status of the number.
+	 */
+	public ConversionStatus tryConvert(CharSequence number, StringBuilder out) {
+		long startTime = ConverterMetrics.start();
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+
+		if (status == ConversionStatus.OK) {
+			append(amount, out);
+		}
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.STRING, status, number, amount.dollars, startTime);
+		return status;
+	}
+
+	/**
+	 * Parse a number represented as a string into the given holder with the settings of this converter.
+	 * It never throws an exception and does not allocate anything.
+	 * @param number - the number represented as a string.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @return the status of the number.
+	 */
+	public ConversionStatus tryParse(CharSequence number, ParsedAmount amount) {
+		return NumberTextConverter.tryParse(number, amount, this);
+	}
+
+	/**
+	 * Parse a number given as ASCII bytes into the given holder with the settings of this converter.
+	 * The digits are validated and parsed 8 bytes at a time, see {@link NumberTextConverter#tryParse(byte[], int, int, ParsedAmount)}.
+	 * @param bytes - the bytes holding the number.
+	 * @param offset - position of the first byte of the number.
+	 * @param length - number of bytes of the number.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @return the status of the number.
+	 */
+	public ConversionStatus tryParse(byte[] bytes, int offset, int length, ParsedAmount amount) {
+		return NumberTextConverter.tryParse(bytes, offset, length, amount, this);
+	}
+
+	/**
+	 * Convert a parsed number to text and write it as UTF-8 bytes into the buffer, heap or direct, from its position.
+	 * Nothing is allocated. If the text does not fit into the remaining bytes, nothing is written and the negated number 
+	 * of bytes needed is returned. Nothing is written if the holder has no number, i.e., the input was empty.
+	 * @param amount - the number parsed by this converter.
+	 * @param out - the buffer the text is written into.
+	 * @return the number of bytes written, or the negated number of bytes needed if the text does not fit.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public int convert(ParsedAmount amount, ByteBuffer out) {
+		if (amount.status.isError()) {
+			throw new IllegalArgumentException("The number is not valid: " + amount.status);
+		}
+
+		if (amount.status == ConversionStatus.EMPTY) {
+			return 0;
+		}
+		return vocabulary.encodeAmount(amount.negative, amount.dollars, amount.cents, out);
+	}
+
+	/**
+	 * Return the number of characters of the text of a number without converting it, it's the length of {@link #convert(String)}.
+	 * Nothing is recorded in the metrics.
+	 * @param number - the number represented as a string.
+	 * @return the length of the text, 0 for null or an empty string.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public int textLength(CharSequence number) throws NumberFormatException, NumberOutOfRangeException {
+		ParsedAmount amount = new ParsedAmount();
+		ConversionStatus status = NumberTextConverter.tryParse(number, amount, this);
+		checkStatus(status, number);
+		return textLength(amount);
+	}
+
+	/**
+	 * Return the number of characters of the text of a parsed number without converting it.
+	 * @param amount - the parsed number.
+	 * @return the length of the text, 0 if the holder has no number, i.e., the input was empty.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public int textLength(ParsedAmount amount) {
+		if (amount.status.isError()) {
+			throw new IllegalArgumentException("The number is not valid: " + amount.status);
+		}
+
+		if (amount.status == ConversionStatus.EMPTY) {
+			return 0;
+		}
+		return vocabulary.textLength(amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Parse the text of an amount back to the number, e.g. "minus one hundred two thousand dollars and five cents"
+	 * is parsed to -102000.05. It's the reverse of the conversion with the words of this converter. It never throws an exception.
+	 * @param text - the text of the amount.
+	 * @return the parsed number, its status is INVALID_FORMAT if a word is unknown or out of place.
+	 */
+	public ParsedAmount parseText(CharSequence text) {
+		ParsedAmount amount = new ParsedAmount();
+		TextParser.parse(text, vocabulary, this, amount);
+		return amount;
+	}
+
+	/**
+	 * Parse the text of an amount back to the number into the given holder. It never throws an exception and does not allocate anything.
+	 * @param text - the text of the amount.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @return the status of the text.
+	 */
+	public ConversionStatus parseText(CharSequence text, ParsedAmount amount) {
+		return TextParser.parse(text, vocabulary, this, amount);
+	}
+
+	/**
+	 * Build the result of a conversion from the parsed number.
+	 */
+	private ConversionResult toResult(ConversionStatus status, ParsedAmount amount) {
+		switch (status) {
+		case OK:
+			return new ConversionResult(status, toText(amount, vocabulary));
+		case EMPTY:
+			return new ConversionResult(status, "");
+		default:
+			return new ConversionResult(status, null);
+		}
+	}
+
+	private static String toText(ParsedAmount amount, Vocabulary words) {
+		return NumberTextConverter.convert(amount.negative, amount.dollars, amount.cents, words);
+	}
+
+	private void append(ParsedAmount amount, StringBuilder out) {
+		try {
+			vocabulary.appendAmount(amount.negative, amount.dollars, amount.cents, out);
+		} catch (IOException e) {
+			// A StringBuilder never throws an IOException.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Throw the exception matching the status of parsing a float number. The number is only formatted for the message.
+	 */
+	private void checkStatus(double number, ConversionStatus status) throws NumberFormatException, NumberOutOfRangeException {
+		if (status.isError()) {
+			if (status == ConversionStatus.OUT_OF_RANGE && NumberTextConverter.isFloatOutOfRange(number)) {
+				NumberTextConverter.checkStatus(number, status);
+			}
+			checkStatus(status, String.valueOf(number));
+		}
+	}
+
+	/**
+	 * Throw the exception matching the status of parsing a number, the range in the message is the one of this converter.
+	 */
+	private void checkStatus(ConversionStatus status, CharSequence input) throws NumberFormatException, NumberOutOfRangeException {
+		if (status == ConversionStatus.OUT_OF_RANGE && maxDollars != MAX_DOLLARS) {
+			throw new NumberOutOfRangeException("Number out of range: " + input,
+					                            Long.toString(maxDollars), Long.toString(-maxDollars));
+		}
+		NumberTextConverter.checkStatus(status, input);
+	}
+
+	/**
+	 * Decide whether a number is rounded away from zero.
+	 * @param negative - true if the number is negative.
+	 * @param lastDigit - the last digit within the precision.
+	 * @param roundingDigit - the first digit beyond the precision.
+	 * @param sticky - true if there are more non-zero digits after the rounding digit.
+	 * @return true if the last digit within the precision is incremented.
+	 */
+	boolean roundsUp(boolean negative, int lastDigit, int roundingDigit, boolean sticky) {
+		boolean inexact = roundingDigit != 0 || sticky;
+
+		switch (roundingMode) {
+		case UP:
+			return inexact;
+		case DOWN:
+			return false;
+		case CEILING:
+			return inexact && !negative;
+		case FLOOR:
+			return inexact && negative;
+		case HALF_DOWN:
+			return roundingDigit > 5 || (roundingDigit == 5 && sticky);
+		case HALF_EVEN:
+			return roundingDigit > 5 || (roundingDigit == 5 && (sticky || lastDigit % 2 != 0));
+		default:
+			return roundingDigit >= 5;
+		}
+	}
+
+	/**
+	 * Builds an immutable Converter. The builder itself is not thread-safe, every setting has the value of
+	 * {@link Converter#DEFAULT} unless it's set.
+	 */
+	public static final class Builder {
+
+		private Vocabulary vocabulary = Vocabulary.ENGLISH;
+
+		private int precision = 2;
+
+		private RoundingMode roundingMode = RoundingMode.HALF_UP;
+
+		private long maxDollars = MAX_DOLLARS;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the words of the converter.
+		 * @param vocabulary - the words.
+		 * @return this builder.
+		 */
+		public Builder vocabulary(Vocabulary vocabulary) {
+			if (vocabulary == null) {
+				throw new IllegalArgumentException("The vocabulary is missing");
+			}
+			this.vocabulary = vocabulary;
+			return this;
+		}
+
+		/**
+		 * Set the words of the given locale, see {@link Vocabulary#forLocale(Locale)}.
+		 * @param locale - the locale.
+		 * @return this builder.
+		 */
+		public Builder locale(Locale locale) {
+			return vocabulary(Vocabulary.forLocale(locale));
+		}
+
+		/**
+		 * Replace the currency words of the vocabulary, e.g. "euro", "euros", "cent", "cents".
+		 * The vocabulary is compiled again with these words when this method is called.
+		 * @param integer - the unit of the integer part.
+		 * @param integerPlural - the plural of the unit of the integer part.
+		 * @param decimal - the unit of the fraction.
+		 * @param decimalPlural - the plural of the unit of the fraction.
+		 * @return this builder.
+		 */
+		public Builder currency(String integer, String integerPlural, String decimal, String decimalPlural) {
+			this.vocabulary = vocabulary.withCurrency(integer, integerPlural, decimal, decimalPlural);
+			return this;
+		}
+
+		/**
+		 * Set the number of fraction digits kept, 0 ~ 3. The fraction is converted as a number of its units,
+		 * e.g. 3 for "five hundred fils".
+		 * @param precision - the number of fraction digits.
+		 * @return this builder.
+		 */
+		public Builder precision(int precision) {
+			if (precision < 0 || precision > MAX_PRECISION) {
+				throw new IllegalArgumentException("The precision should be 0 ~ " + MAX_PRECISION + ": " + precision);
+			}
+			this.precision = precision;
+			return this;
+		}
+
+		/**
+		 * Set how the fraction is rounded to the precision. UNNECESSARY is not supported.
+		 * @param roundingMode - the rounding mode.
+		 * @return this builder.
+		 */
+		public Builder roundingMode(RoundingMode roundingMode) {
+			if (roundingMode == null || roundingMode == RoundingMode.UNNECESSARY) {
+				throw new IllegalArgumentException("The rounding mode is not supported: " + roundingMode);
+			}
+			this.roundingMode = roundingMode;
+			return this;
+		}
+
+		/**
+		 * Set the largest supported number, the smallest one is its negation.
+		 * It can not be larger than NumberTextConverter.MAX_VALUE.
+		 * @param maxValue - the largest absolute value of the integer part.
+		 * @return this builder.
+		 */
+		public Builder maxValue(long maxValue) {
+			if (maxValue <= 0 || maxValue > MAX_DOLLARS) {
+				throw new IllegalArgumentException("The maximal value should be 1 ~ " + MAX_DOLLARS + ": " + maxValue);
+			}
+			this.maxDollars = maxValue;
+			return this;
+		}
+
+		/**
+		 * Create the converter.
+		 */
+		public Converter build() {
+			return new Converter(this);
+		}
+	}
+}
@@ -0,0 +1,370 @@
+package com.zhong.projects;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and histograms of the conversions done by NumberTextConverter. They are collected for the methods which take
+ * a string or a float number, i.e., convert and tryConvert, and they can be read with {@link #snapshot()} or through JMX
+ * after {@link #registerMBean()}.
+ * Every counter is a LongAdder, so threads converting at the same time do not contend for it.
+ * The metrics are on by default, they are turned off by starting the JVM with -Dcom.zhong.projects.metrics=false.
+ * @author
+ *
+ */
+public final class ConverterMetrics implements ConverterMetricsMXBean {
+
+	/**
+	 * The kind of method a conversion started from.
+	 */
+	public enum EntryPoint {
+		//A number represented as a string
+		STRING,
+		//A float number
+		DOUBLE
+	}
+
+	//The name the MBean is registered with
+	public static final String OBJECT_NAME = "com.zhong.projects:type=ConverterMetrics";
+
+	//Whether the metrics are collected. It's read once, so the JIT removes the metrics code when they are off.
+	private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("com.zhong.projects.metrics"));
+
+	//Number of input length buckets. Bucket 0 is for empty inputs and bucket i for lengths 2^(i-1) ~ 2^i - 1, the last one has the rest.
+	static final int LENGTH_BUCKETS = 8;
+
+	//Number of group count buckets. A number in the range has at most 7 groups of 3 digits.
+	static final int GROUP_BUCKETS = 8;
+
+	//Number of latency buckets. Bucket i is for latencies of 2^i ~ 2^(i+1) - 1 nanoseconds, the last one has the rest.
+	static final int LATENCY_BUCKETS = 32;
+
+	private static final ConverterMetrics INSTANCE = new ConverterMetrics();
+
+	private final LongAdder[] calls = newAdders(EntryPoint.values().length);
+
+	private final LongAdder successes = new LongAdder();
+
+	private final LongAdder formatErrors = new LongAdder();
+
+	private final LongAdder rangeErrors = new LongAdder();
+
+	private final LongAdder[] lengths = newAdders(LENGTH_BUCKETS);
+
+	private final LongAdder[] groups = newAdders(GROUP_BUCKETS);
+
+	private final LongAdder[] latencies = newAdders(LATENCY_BUCKETS);
+
+	private ConverterMetrics() {
+	}
+
+	/**
+	 * Return the metrics of NumberTextConverter.
+	 */
+	public static ConverterMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Return whether the metrics are collected.
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Register the metrics with the platform MBean server under {@link #OBJECT_NAME}. Nothing is done if it's already registered.
+	 * @throws IllegalStateException - thrown if the MBean can not be registered.
+	 */
+	public static void registerMBean() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(INSTANCE, name);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("The metrics MBean can not be registered", e);
+		}
+	}
+
+	/**
+	 * Return the start time of a conversion, or 0 if the metrics are off.
+	 */
+	static long start() {
+		return ENABLED ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Record a finished conversion.
+	 * @param entryPoint - the kind of method called.
+	 * @param status - the status of the number.
+	 * @param number - the input, it may be null.
+	 * @param dollars - the integer part of the number, 0 for an invalid number.
+	 * @param startTime - the value returned by {@link #start()}.
+	 */
+	static void record(EntryPoint entryPoint, ConversionStatus status, CharSequence number, long dollars, long startTime) {
+		if (!ENABLED) {
+			return;
+		}
+
+		INSTANCE.add(entryPoint, status, (number == null) ? 0 : number.length(), dollars, System.nanoTime() - startTime);
+	}
+
+	private void add(EntryPoint entryPoint, ConversionStatus status, int length, long dollars, long nanos) {
+		calls[entryPoint.ordinal()].increment();
+		if (status == ConversionStatus.OUT_OF_RANGE) {
+			rangeErrors.increment();
+		} else if (status.isError()) {
+			formatErrors.increment();
+		} else {
+			successes.increment();
+			groups[groupCount(dollars)].increment();
+		}
+
+		lengths[Math.min(LENGTH_BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(length))].increment();
+		latencies[Math.min(LATENCY_BUCKETS - 1, Math.max(0, 63 - Long.numberOfLeadingZeros(nanos)))].increment();
+	}
+
+	/**
+	 * Return the number of groups of 3 digits of the integer part, 0 for no dollars.
+	 */
+	static int groupCount(long dollars) {
+		int count = 0;
+		while (dollars > 0 && count < GROUP_BUCKETS - 1) {
+			dollars /= 1000;
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Take a copy of the metrics. The counters keep changing while they are copied, so the copy is not exact
+	 * if conversions are running at the same time.
+	 */
+	public Snapshot snapshot() {
+		long[] callCounts = sums(calls);
+		return new Snapshot(callCounts, successes.sum(), formatErrors.sum(), rangeErrors.sum(),
+				            sums(lengths), sums(groups), sums(latencies));
+	}
+
+	/**
+	 * Set every counter to 0.
+	 */
+	public void reset() {
+		resetAll(calls);
+		successes.reset();
+		formatErrors.reset();
+		rangeErrors.reset();
+		resetAll(lengths);
+		resetAll(groups);
+		resetAll(latencies);
+	}
+
+	@Override
+	public long getStringCalls() {
+		return calls[EntryPoint.STRING.ordinal()].sum();
+	}
+
+	@Override
+	public long getDoubleCalls() {
+		return calls[EntryPoint.DOUBLE.ordinal()].sum();
+	}
+
+	@Override
+	public long getSuccesses() {
+		return successes.sum();
+	}
+
+	@Override
+	public long getNumberFormatErrors() {
+		return formatErrors.sum();
+	}
+
+	@Override
+	public long getNumberOutOfRangeErrors() {
+		return rangeErrors.sum();
+	}
+
+	@Override
+	public long[] getInputLengthHistogram() {
+		return sums(lengths);
+	}
+
+	@Override
+	public long[] getGroupCountHistogram() {
+		return sums(groups);
+	}
+
+	@Override
+	public long[] getLatencyHistogram() {
+		return sums(latencies);
+	}
+
+	@Override
+	public long getLatencyMedianNanos() {
+		return percentile(sums(latencies), 0.5);
+	}
+
+	@Override
+	public long getLatency99thPercentileNanos() {
+		return percentile(sums(latencies), 0.99);
+	}
+
+	/**
+	 * Return the upper bound of the latency bucket which holds the given fraction of the conversions, 0 if there are none.
+	 */
+	static long percentile(long[] histogram, double fraction) {
+		long total = 0;
+		for (long count : histogram) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(total * fraction);
+		long seen = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			seen += histogram[i];
+			if (seen >= rank) {
+				return (1L << (i + 1)) - 1;
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+
+	private static LongAdder[] newAdders(int size) {
+		LongAdder[] adders = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	private static long[] sums(LongAdder[] adders) {
+		long[] values = new long[adders.length];
+		for (int i = 0; i < adders.length; i++) {
+			values[i] = adders[i].sum();
+		}
+		return values;
+	}
+
+	private static void resetAll(LongAdder[] adders) {
+		for (LongAdder adder : adders) {
+			adder.reset();
+		}
+	}
+
+	/**
+	 * An immutable copy of the metrics.
+	 */
+	public static final class Snapshot {
+
+		private final long[] calls;
+
+		private final long successes;
+
+		private final long formatErrors;
+
+		private final long rangeErrors;
+
+		private final long[] lengths;
+
+		private final long[] groups;
+
+		private final long[] latencies;
+
+		Snapshot(long[] calls, long successes, long formatErrors, long rangeErrors,
+				 long[] lengths, long[] groups, long[] latencies) {
+			this.calls = calls;
+			this.successes = successes;
+			this.formatErrors = formatErrors;
+			this.rangeErrors = rangeErrors;
+			this.lengths = lengths;
+			this.groups = groups;
+			this.latencies = latencies;
+		}
+
+		/**
+		 * Return the number of conversions started from the given kind of method.
+		 */
+		public long getCalls(EntryPoint entryPoint) {
+			return calls[entryPoint.ordinal()];
+		}
+
+		/**
+		 * Return the number of conversions of all kinds.
+		 */
+		public long getTotalCalls() {
+			long total = 0;
+			for (long count : calls) {
+				total += count;
+			}
+			return total;
+		}
+
+		/**
+		 * Return the number of valid or empty inputs.
+		 */
+		public long getSuccesses() {
+			return successes;
+		}
+
+		/**
+		 * Return the number of inputs rejected with a NumberFormatException or an equivalent status.
+		 */
+		public long getNumberFormatErrors() {
+			return formatErrors;
+		}
+
+		/**
+		 * Return the number of inputs rejected with a NumberOutOfRangeException or an equivalent status.
+		 */
+		public long getNumberOutOfRangeErrors() {
+			return rangeErrors;
+		}
+
+		/**
+		 * Return the number of inputs by length. Bucket 0 is for empty inputs and bucket i for lengths 2^(i-1) ~ 2^i - 1,
+		 * the last bucket has all longer inputs.
+		 */
+		public long[] getInputLengthHistogram() {
+			return lengths.clone();
+		}
+
+		/**
+		 * Return the number of valid inputs by the number of groups of 3 digits of the integer part.
+		 */
+		public long[] getGroupCountHistogram() {
+			return groups.clone();
+		}
+
+		/**
+		 * Return the number of conversions by latency. Bucket i is for 2^i ~ 2^(i+1) - 1 nanoseconds,
+		 * the last bucket has all slower conversions.
+		 */
+		public long[] getLatencyHistogram() {
+			return latencies.clone();
+		}
+
+		/**
+		 * Return an upper bound of the latency in nanoseconds which the given fraction of the conversions do not exceed.
+		 * @param fraction - the fraction between 0 and 1, e.g. 0.99.
+		 */
+		public long getLatencyPercentileNanos(double fraction) {
+			return percentile(latencies, fraction);
+		}
+
+		@Override
+		public String toString() {
+			return "calls=" + getTotalCalls() + ", successes=" + successes + ", formatErrors=" + formatErrors
+					+ ", rangeErrors=" + rangeErrors + ", p50=" + percentile(latencies, 0.5) + "ns, p99="
+					+ percentile(latencies, 0.99) + "ns";
+		}
+	}
+}
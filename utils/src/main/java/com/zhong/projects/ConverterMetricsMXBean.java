@@ -0,0 +1,59 @@
+package com.zhong.projects;
+
+/**
+ * The JMX view of {@link ConverterMetrics}. The values are read when they are requested.
+ * @author
+ *
+ */
+public interface ConverterMetricsMXBean {
+
+	/**
+	 * Return the number of conversions of numbers represented as strings.
+	 */
+	long getStringCalls();
+
+	/**
+	 * Return the number of conversions of float numbers.
+	 */
+	long getDoubleCalls();
+
+	/**
+	 * Return the number of valid or empty inputs.
+	 */
+	long getSuccesses();
+
+	/**
+	 * Return the number of inputs rejected with a NumberFormatException or an equivalent status.
+	 */
+	long getNumberFormatErrors();
+
+	/**
+	 * Return the number of inputs rejected with a NumberOutOfRangeException or an equivalent status.
+	 */
+	long getNumberOutOfRangeErrors();
+
+	/**
+	 * Return the number of inputs by length, see {@link ConverterMetrics.Snapshot#getInputLengthHistogram()}.
+	 */
+	long[] getInputLengthHistogram();
+
+	/**
+	 * Return the number of valid inputs by the number of groups of 3 digits.
+	 */
+	long[] getGroupCountHistogram();
+
+	/**
+	 * Return the number of conversions by latency, see {@link ConverterMetrics.Snapshot#getLatencyHistogram()}.
+	 */
+	long[] getLatencyHistogram();
+
+	/**
+	 * Return an upper bound of the median latency in nanoseconds.
+	 */
+	long getLatencyMedianNanos();
+
+	/**
+	 * Return an upper bound of the 99th percentile latency in nanoseconds.
+	 */
+	long getLatency99thPercentileNanos();
+}
@@ -0,0 +1,324 @@
+package com.zhong.projects;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class converts a file of amounts to a file of texts. 
+ * The input has one amount per line, an amount may be enclosed in double quotes as CSV files do for amounts with ','. 
+ * The input file is memory-mapped and split into chunks at line boundaries, the chunks are converted on multiple threads 
+ * and the texts are written to the output file in the order of the input, one line per valid amount.
+ * Invalid amounts are written to the reject file as "line number TAB amount TAB status", the status being a ConversionStatus.
+ * <p>
+ * The JDK has no way to release a mapping, so the mapped chunks stay in the address space until their buffers are
+ * garbage-collected, also after the conversion returns. They are backed by the file, not by the heap, and the pages which were
+ * read can be dropped by the operating system at any time.
+ * @author 
+ *
+ */
+public final class FileConverter {
+
+	//Default size of a chunk of the input file converted by one task
+	public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+	//Expected length of the text of one line, used to size the buffers
+	private static final int EXPECTED_TEXT_SIZE = 64;
+
+	//Size of the window read to find the end of a line at a chunk boundary
+	private static final int BOUNDARY_WINDOW = 4096;
+
+	private static final byte NEW_LINE = '\n';
+
+	private static final byte CARRIAGE_RETURN = '\r';
+
+	private static final byte QUOTE = '"';
+
+	private static final byte TAB = '\t';
+
+	private FileConverter() {
+	}
+
+	/**
+	 * The numbers of lines processed by a file conversion.
+	 */
+	public static final class Summary {
+		private final long lines;
+		private final long rejected;
+
+		Summary(long lines, long rejected) {
+			this.lines = lines;
+			this.rejected = rejected;
+		}
+
+		/**
+		 * Return the number of lines in the input file.
+		 */
+		public long getLines() {
+			return lines;
+		}
+
+		/**
+		 * Return the number of lines written to the output file.
+		 */
+		public long getConverted() {
+			return lines - rejected;
+		}
+
+		/**
+		 * Return the number of lines written to the reject file.
+		 */
+		public long getRejected() {
+			return rejected;
+		}
+	}
+
+	/**
+	 * Convert a file of amounts using the threads of the common ForkJoinPool.
+	 * @param input - the file with one amount per line.
+	 * @param output - the file the texts are written to, it's replaced if it exists.
+	 * @param rejects - the file the invalid amounts are written to, it's replaced if it exists.
+	 * @return the numbers of converted and rejected lines.
+	 * @throws IOException - thrown if a file can not be read or written.
+	 */
+	public static Summary convertFile(Path input, Path output, Path rejects) throws IOException {
+		return convertFile(input, output, rejects, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Convert a file of amounts using the threads of the given executor.
+	 * At most two chunks per thread are held in memory at any time, so the memory used does not depend on the file size.
+	 * @param input - the file with one amount per line.
+	 * @param output - the file the texts are written to, it's replaced if it exists.
+	 * @param rejects - the file the invalid amounts are written to, it's replaced if it exists.
+	 * @param executor - the executor converting the chunks.
+	 * @param chunkSize - the approximate number of bytes of the input converted by one task.
+	 * @return the numbers of converted and rejected lines.
+	 * @throws IOException - thrown if a file can not be read or written.
+	 */
+	public static Summary convertFile(Path input, Path output, Path rejects, ExecutorService executor, int chunkSize) 
+			throws IOException {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+		}
+
+		int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() 
+				: Runtime.getRuntime().availableProcessors();
+		int maxInFlight = 2 * Math.max(1, parallelism);
+
+		try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, 
+						StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+				FileChannel rejectOut = FileChannel.open(rejects, StandardOpenOption.CREATE, 
+						StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+			long size = in.size();
+			long start = 0;
+			long lines = 0;
+			long rejected = 0;
+			ArrayDeque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+
+			// Submit the chunks in order and write their results in the same order.
+			while (start < size || !inFlight.isEmpty()) {
+				while (start < size && inFlight.size() < maxInFlight) {
+					long end = findLineEnd(in, Math.min(size, start + chunkSize), size);
+					inFlight.add(executor.submit(new ChunkTask(in, start, end)));
+					start = end;
+				}
+
+				ChunkResult result = await(inFlight.poll());
+				write(out, result.texts);
+				write(rejectOut, result.formatRejects(lines));
+				lines += result.lines;
+				rejected += result.rejectedLines.size();
+			}
+
+			return new Summary(lines, rejected);
+		}
+	}
+
+	/**
+	 * Find the position after the first new line at or after the given position.
+	 * @param in - the input file.
+	 * @param position - where to start searching.
+	 * @param size - the size of the file.
+	 * @return the position where the next line starts, or the file size.
+	 * @throws IOException - thrown if the file can not be read.
+	 */
+	private static long findLineEnd(FileChannel in, long position, long size) throws IOException {
+		ByteBuffer window = ByteBuffer.allocate(BOUNDARY_WINDOW);
+
+		while (position < size) {
+			window.clear();
+			int read = in.read(window, position);
+			if (read <= 0) {
+				break;
+			}
+
+			for (int i = 0; i < read; i++) {
+				if (window.get(i) == NEW_LINE) {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+
+		return size;
+	}
+
+	/**
+	 * Wait for the result of a chunk.
+	 * @param future - the future of the chunk task.
+	 * @return the result of the chunk.
+	 * @throws IOException - thrown if the chunk could not be read.
+	 */
+	private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while converting the file");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IllegalStateException("Failed to convert a chunk of the file", e.getCause());
+		}
+	}
+
+	/**
+	 * Write all bytes to the channel.
+	 */
+	private static void write(FileChannel channel, byte[] bytes) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Encode the characters as ISO-8859-1, which keeps the bytes of the input echoed to the reject file unchanged.
+	 */
+	private static byte[] toBytes(StringBuilder text) {
+		byte[] bytes = new byte[text.length()];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) text.charAt(i);
+		}
+		return bytes;
+	}
+
+	/**
+	 * The converted texts and the rejected lines of one chunk.
+	 */
+	private static final class ChunkResult {
+		//Converted texts, one line each
+		byte[] texts;
+		//Number of lines in the chunk
+		long lines;
+		//Line numbers within the chunk, starting from 1, of the rejected lines
+		final List<Long> rejectedLines = new ArrayList<>();
+		//"TAB amount TAB reason" of each rejected line
+		final List<String> rejectedDetails = new ArrayList<>();
+
+		/**
+		 * Format the rejected lines with their line numbers in the file.
+		 * @param firstLine - the number of lines before this chunk.
+		 */
+		byte[] formatRejects(long firstLine) {
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < rejectedLines.size(); i++) {
+				text.append(firstLine + rejectedLines.get(i)).append(rejectedDetails.get(i)).append('\n');
+			}
+			return toBytes(text);
+		}
+	}
+
+	/**
+	 * Converts the lines of one chunk of the input file.
+	 */
+	private static final class ChunkTask implements Callable<ChunkResult> {
+		private final FileChannel in;
+		private final long start;
+		private final long end;
+
+		ChunkTask(FileChannel in, long start, long end) {
+			this.in = in;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public ChunkResult call() throws IOException {
+			MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+			int limit = buffer.limit();
+
+			// Size the texts from the number of lines: the text of a short amount is much longer than the amount, 
+			// so the number of bytes says little about it.
+			int lineCount = 0;
+			for (int i = 0; i < limit; i++) {
+				if (buffer.get(i) == NEW_LINE) {
+					lineCount++;
+				}
+			}
+			if (limit > 0 && buffer.get(limit - 1) != NEW_LINE) {
+				lineCount++;
+			}
+
+			ChunkResult result = new ChunkResult();
+			StringBuilder texts = new StringBuilder((int) Math.min((long) lineCount * EXPECTED_TEXT_SIZE, Integer.MAX_VALUE / 2));
+			ParsedAmount amount = new ParsedAmount();
+			AsciiSequence line = new AsciiSequence();
+
+			int lineStart = 0;
+			while (lineStart < limit) {
+				int lineEnd = lineStart;
+				while (lineEnd < limit && buffer.get(lineEnd) != NEW_LINE) {
+					lineEnd++;
+				}
+				result.lines++;
+
+				// Ignore the '\r' of Windows line ends and the quotes around a CSV field.
+				int from = lineStart;
+				int to = lineEnd;
+				if (to > from && buffer.get(to - 1) == CARRIAGE_RETURN) {
+					to--;
+				}
+				while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+					from++;
+				}
+				while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+					to--;
+				}
+				if (to - from >= 2 && buffer.get(from) == QUOTE && buffer.get(to - 1) == QUOTE) {
+					from++;
+					to--;
+				}
+
+				ConversionStatus status = NumberTextConverter.tryParse(line.reset(buffer, from, to - from), amount);
+				if (status.isError()) {
+					result.rejectedLines.add(result.lines);
+					result.rejectedDetails.add((char) TAB + line.toString() + (char) TAB + status);
+				} else {
+					NumberTextConverter.convert(amount, texts).append('\n');
+				}
+
+				lineStart = lineEnd + 1;
+			}
+
+			result.texts = toBytes(texts);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package com.zhong.projects;
+
+import java.io.IOException;
+
+import com.zhong.projects.NumberTextConverter.NumberOutOfRangeException;
+
+/**
+ * Converts a sequence of amounts, reusing the text of the previous amount. The text of the groups of 3 digits from the highest
+ * scale down to the first group which differs from the previous amount is kept, and only the groups below it, the currency and
+ * the fraction are appended again. Amounts of sorted or sequential batches, e.g. the rows of a statement or an amortization
+ * schedule, share most of their larger groups, so most of the text of every amount is not written again.
+ * <p>
+ * The text is kept in a buffer which is returned as a CharSequence. It's valid until the next conversion, which changes it,
+ * so it has to be copied, e.g. appended to an output or turned into a String, if it's kept. An instance is not thread-safe,
+ * every thread or stream needs its own.
+ * @author
+ *
+ */
+public final class IncrementalConverter {
+
+	//Expected length of a text, the buffer grows for longer ones
+	private static final int EXPECTED_TEXT_SIZE = 256;
+
+	private final Converter converter;
+
+	private final Vocabulary vocabulary;
+
+	private final ParsedAmount amount = new ParsedAmount();
+
+	//The text of the previous amount
+	private final StringBuilder text = new StringBuilder(EXPECTED_TEXT_SIZE);
+
+	//End of the text of the group of each scale in the text. The end of the highest scale is at the end of the sign,
+	//so groupEnds[scale + 1] is where the text of the group of the scale starts.
+	private final int[] groupEnds = new int[Vocabulary.getScaleCount() + 1];
+
+	//Whether the text has groups which can be kept, i.e., the previous amount has an integer part
+	private boolean hasGroups;
+
+	private boolean negative;
+
+	//The groups of 3 digits of the integer part of the previous amount and of the current one, indexed by the scale
+	private int[] groups = new int[Vocabulary.getScaleCount()];
+
+	private int[] nextGroups = new int[Vocabulary.getScaleCount()];
+
+	//Number of groups of the thousands and the larger scales written and kept since the converter was created
+	private long writtenGroups;
+
+	private long keptGroups;
+
+	/**
+	 * Constructor of a converter with the settings of NumberTextConverter.
+	 */
+	public IncrementalConverter() {
+		this(Converter.DEFAULT);
+	}
+
+	/**
+	 * Constructor
+	 * @param converter - the words, the precision, the rounding and the range.
+	 */
+	public IncrementalConverter(Converter converter) {
+		this.converter = converter;
+		this.vocabulary = converter.getVocabulary();
+	}
+
+	/**
+	 * Convert a number represented as a string to text.
+	 * @param number - the number represented as a string which will be converted.
+	 * @return the text, the same as {@link Converter#convert(String)} returns. It's valid until the next conversion.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public CharSequence convert(CharSequence number) throws NumberFormatException, NumberOutOfRangeException {
+		long startTime = ConverterMetrics.start();
+		ConversionStatus status = converter.tryParse(number, amount);
+		CharSequence text = status.isError() ? null : convert(amount);
+		ConverterMetrics.record(ConverterMetrics.EntryPoint.STRING, status, number, amount.dollars, startTime);
+		NumberTextConverter.checkStatus(status, number);
+
+		return text;
+	}
+
+	/**
+	 * Convert an amount in units of the precision to text, e.g. cents for a precision of 2. The range is not checked.
+	 * @param amountInCents - the amount in cents which will be converted to text.
+	 * @return the text, the same as {@link NumberTextConverter#convertCents(long)} returns. It's valid until the next conversion.
+	 */
+	public CharSequence convertCents(long amountInCents) {
+		long wholes = amountInCents / converter.unitsPerWhole;
+		int cents = (int) (amountInCents % converter.unitsPerWhole);
+
+		if (amountInCents < 0) {
+			return write(true, -wholes, -cents);
+		} else {
+			return write(false, wholes, cents);
+		}
+	}
+
+	/**
+	 * Convert a parsed number to text.
+	 * @param amount - the number parsed by the converter.
+	 * @return the text, which is empty if the holder has no number, i.e., the input was empty. It's valid until the next conversion.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public CharSequence convert(ParsedAmount amount) {
+		if (amount.status.isError()) {
+			throw new IllegalArgumentException("The number is not valid: " + amount.status);
+		}
+
+		if (amount.status == ConversionStatus.EMPTY) {
+			hasGroups = false;
+			text.setLength(0);
+			return text;
+		}
+		return write(amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Return the number of groups of the thousands and the larger scales whose text was written, the groups of 0 included.
+	 * The group below 1000 is always written.
+	 */
+	public long getWrittenGroups() {
+		return writtenGroups;
+	}
+
+	/**
+	 * Return the number of groups of the thousands and the larger scales whose text was kept from the previous amount.
+	 */
+	public long getKeptGroups() {
+		return keptGroups;
+	}
+
+	/**
+	 * Write the text of a number, keeping the text of the groups which are the same as the ones of the previous amount.
+	 */
+	private CharSequence write(boolean negative, long dollars, int cents) {
+		int scales = Vocabulary.getScaleCount();
+
+		if (dollars == 0) {
+			// There are no groups to keep, e.g. "zero dollars" or "five cents".
+			hasGroups = false;
+			text.setLength(0);
+			if (cents == 0) {
+				return text.append(vocabulary.getZeroText());
+			}
+			if (negative) {
+				text.append(vocabulary.getMinusPrefix());
+			}
+			appendTail(0, cents);
+			return text;
+		}
+
+		// Split the integer part into its groups. The divisor is a constant, which is cheaper than dividing by each scale.
+		long rest = dollars;
+		for (int unitIndex = 0; unitIndex < scales; unitIndex++) {
+			nextGroups[unitIndex] = (int) (rest % 1000);
+			rest /= 1000;
+		}
+
+		// Find the highest scale whose group differs, the groups above it are kept.
+		int from = scales - 1;
+		if (hasGroups && negative == this.negative) {
+			while (from > 0 && nextGroups[from] == groups[from]) {
+				from--;
+			}
+			keptGroups += scales - 1 - from;
+		} else {
+			text.setLength(0);
+			if (negative) {
+				text.append(vocabulary.getMinusPrefix());
+			}
+			groupEnds[scales] = text.length();
+		}
+
+		// The text of the group at 'from' starts where the group above it ends.
+		text.setLength(groupEnds[from + 1]);
+		for (int unitIndex = from; unitIndex > 0; unitIndex--) {
+			text.append(vocabulary.getScaledGroup(unitIndex, nextGroups[unitIndex]));
+			groupEnds[unitIndex] = text.length();
+		}
+		writtenGroups += from;
+
+		appendTail(dollars, cents);
+		hasGroups = true;
+		this.negative = negative;
+		int[] previous = groups;
+		groups = nextGroups;
+		nextGroups = previous;
+		return text;
+	}
+
+	private void appendTail(long dollars, int cents) {
+		try {
+			vocabulary.appendTail(dollars, cents, text);
+		} catch (IOException e) {
+			// A StringBuilder never throws an IOException.
+			throw new IllegalStateException(e);
+		}
+	}
+}
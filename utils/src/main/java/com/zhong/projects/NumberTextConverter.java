@@ -3,124 +3,71 @@ package com.zhong.projects;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class provides the utility methods to convert a number to text, i.e., translate a float number or a number in string 
- * format to English text. 
+ * format to English text. Other languages are supported by the methods taking a {@link Vocabulary}.
  * @author 
  *
  */
 public class NumberTextConverter {
 	
-	//Precision to round the input number, 2 is the default value
-	private final static int PRECISION = 2;	
-	
 	//Distance between two ',' in a number, which is 3 digits away
 	private final static int COMMAS_DISTANCE = 4;	
 		
-	//These String constants are used to generate the output text. 
-	//They can be stored in external files as well to be more flexible.
-	
-	//Minus sign '-'
-	private final static String MINUS_STRING = "minus";
-	
 	//Comma sign ','
-	private final static String COMMA_STRING = ",";
+	private final static char COMMA_CHAR = ',';
 
-	//Comma sign ','
-	private final static String DOT_STRING = ".";
-
-	//Currency
-	private final static String CURRENCY_INTEGER_STRING = "dollar";
-	
-	private final static String CURRENCY_DECIMAL_STRING = "cent";
-
-	//"and"
-	private final static String AND_STRING = "and";
-
-	//"s"
-	private final static String PLURAL_STRING = "s";
+	//Dot sign '.'
+	private final static char DOT_CHAR = '.';
 
 	//"+"
-	private final static String PLUS_SIGN = "1";
+	private final static char PLUS_CHAR = '+';
 	
 	//"-"
-	private final static String MINUS_SIGN = "-1";
-
-	//Zero
-	private final static String ZERO_STRING = "zero";
-
-	//Numbers with specific words
-	private final static String[] NUMBER_STRINGS = {
-			//single digit numbers
-			"",
-			"one",
-			"two",
-			"three",
-			"four",
-			"five",
-			"six",
-			"seven",
-			"eight",
-			"nine",
-			
-			//Double digits numbers
-			"ten",
-			"eleven",
-			"twelve",
-			"thirteen",
-			"fourteen",
-			"fifteen",
-			"sixteen",
-			"seventeen",
-			"eighteen",
-			"nineteen"
-	}; 
-	
-	//Words for tens, 0 and 10 are left empty 
-	private final static String[] TENS_STRINGS = {		
-			"",
-			"",
-			"twenty",
-			"thirty",
-			"forty",
-			"fifty",
-			"sixty",
-			"seventy",
-			"eighty",
-			"ninety"
-	}; 
-	
-	//Hundred
-	private final static String HUNDRED_STRING = "hundred";
-	
-	//The name for scales. This is based on short scale.
-	private static final String[] SCALES_STRINGS = {
-			"",            
-			" thousand",    // 1,000
-			" million",     // 1,000,000
-			" billion",     // 1,000,000,000
-			" trillion",    // 1,000,000,000,000
-			" quadrillion", // 1,000,000,000,000,000
-			" quintillion" // 1,000,000,000,000,000,000
-	};
-	
+	private final static char MINUS_CHAR = '-';
+
+	//The words used to generate the output text. They are loaded from vocabulary_en.properties.
+	private final static Vocabulary VOCABULARY = Vocabulary.ENGLISH;
+
 	public static final String NUMBER_OUT_OF_RANGE = "The number is out of range!";
 
 	public static final String NUMBER_FORMAT_ERROR = "The number format is not correct!";
 
 	// Define maximal and minimal numbers here. These should be reasonable limits for dollars for real world.
-	public final static BigDecimal MAX_VALUE = new BigDecimal("1000000000000000000");         //1 Quintillion
-	public final static BigDecimal MIN_VALUE = new BigDecimal("-1000000000000000000");        //-1 Quintillion
+	public final static BigDecimal MAX_VALUE = BigDecimal.valueOf(1000000000000000000L);        //1 Quintillion
+	public final static BigDecimal MIN_VALUE = BigDecimal.valueOf(-1000000000000000000L);       //-1 Quintillion
 	public final static double MAX_FLOAT_VALUE = 9000000000000000d;      //The order around the largest number can be represented accurately by a 64-bit float number is 2^53
 	public final static double MIN_FLOAT_VALUE = -9000000000000000d;     // the order of the smallest number can be represented accurately by a 64-bit float
 
-	
-	//Logger
-	private final static Logger myLogger = LoggerFactory.getLogger(NumberTextConverter.class);
+	//Doubles below this are rounded to cents directly. Their ulp is below 0.001, so at most one number with 3 decimals rounds to them.
+	private final static double DIRECT_DOUBLE_LIMIT = 0x1p43;
+
+	//Floats below this are rounded to cents directly, for the same reason as doubles.
+	private final static float DIRECT_FLOAT_LIMIT = 0x1p14f;
+
+	//Numbers below this are rounded to zero cents, whatever their shortest representation is.
+	private final static double ZERO_CENTS_LIMIT = 0.001d;
+
+	//Number of cents in one dollar
+	private final static int CENTS_PER_DOLLAR = 100;
+
+	/**
+	 * Holds the logger, which is only looked up when the first message is logged. Binding SLF4J takes longer than the
+	 * rest of the class initialization, and most programs never log from here.
+	 */
+	private static final class Log {
+		private final static Logger myLogger = LoggerFactory.getLogger(NumberTextConverter.class);
+	}
 	
 	/*********************************************************************************************
 	 *  TODO:
@@ -166,17 +113,73 @@ public class NumberTextConverter {
 	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
 	 */
 	public static String convert(double number) throws NumberFormatException, NumberOutOfRangeException{
+		return Converter.DEFAULT.convert(number);
+	}
 
-		if(number > MAX_FLOAT_VALUE || number < MIN_FLOAT_VALUE) {
-			throw new NumberTextConverter().new NumberOutOfRangeException(Double.toString(number), 
-					                                                      Double.toString(MAX_FLOAT_VALUE), 
-					                                                      Double.toString(MIN_FLOAT_VALUE));
+	/**
+	 * Convert a float number to text. The number is rounded from its shortest decimal representation as a float, 
+	 * e.g. 999.99f is converted to "nine hundred ninety nine dollars and ninety nine cents" and 0.005f is rounded up to one cent.
+	 * It has its own name so that int and long arguments, which Java would widen to a float first, are converted as doubles.
+	 * @param number - the number which will be converted to text.
+	 * @return the converted text.
+	 * @throws NumberFormatException - thrown if the number is not a valid float number, i.e., NaN.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public static String convertFloat(float number) throws NumberFormatException, NumberOutOfRangeException{
+		return Converter.DEFAULT.convertFloat(number);
+	}
+	
+	/**
+	 * Convert an amount of cents to text, e.g. 12345 is converted to "one hundred twenty three dollars and forty five cents".
+	 * Only long arithmetic is used, no parsing or rounding is needed. 
+	 * Every long value is in the range, the largest ones are about 92 quadrillion dollars. Larger amounts up to MAX_VALUE
+	 * have to be passed to {@link #convert(String)}, which produces the text with the same code once the number is parsed.
+	 * @param amountInCents - the amount in cents which will be converted to text.
+	 * @return the converted text.
+	 */
+	public static String convertCents(long amountInCents) {
+		ParsedAmount amount = splitCents(amountInCents);
+		return convert(amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Split an amount of cents into its sign, its dollars and its cents.
+	 * @param amountInCents - the amount in cents.
+	 * @return a holder of the valid number.
+	 */
+	private static ParsedAmount splitCents(long amountInCents) {
+		// Divide before taking the absolute value so that Long.MIN_VALUE does not overflow.
+		long dollars = amountInCents / CENTS_PER_DOLLAR;
+		int cents = (int) (amountInCents % CENTS_PER_DOLLAR);
+
+		ParsedAmount amount = new ParsedAmount();
+		if (amountInCents < 0) {
+			amount.set(true, -dollars, -cents);
+		} else {
+			amount.set(false, dollars, cents);
 		}
-		else {
-			return convert(String.valueOf(number));
+		return amount;
+	}
+
+	/**
+	 * Convert an amount of cents to text and append the text to the given buffer. 
+	 * It produces the same text as {@link #convertCents(long)} without creating an intermediate String.
+	 * @param amountInCents - the amount in cents which will be converted to text.
+	 * @param out - the buffer the text is appended to.
+	 * @return the buffer passed in.
+	 */
+	public static StringBuilder convertCents(long amountInCents, StringBuilder out) {
+		ParsedAmount amount = splitCents(amountInCents);
+		try {
+			appendAmount(amount.negative, amount.dollars, amount.cents, out);
+		} catch (IOException e) {
+			// A StringBuilder never throws an IOException.
+			throw new IllegalStateException(e);
 		}
+
+		return out;
 	}
-	
+
 	/**
 	 * 
 	 * @param number - the number represented as a string which will be converted. 
@@ -185,232 +188,931 @@ public class NumberTextConverter {
 	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
 	 */
 	public static String convert(String number) throws NumberFormatException, NumberOutOfRangeException {
-		// Check whether the input is null or empty.
-		if (number == null) {
-			return "";
-		} else {
-			number = number.trim();
-			if (number.length() == 0) {
-				return "";
-			}
+		return Converter.DEFAULT.convert(number);
+	}
+
+	/**
+	 * Convert a number represented as a string to text in the given language, e.g. {@link Vocabulary#forLocale(java.util.Locale)}.
+	 * @param number - the number represented as a string which will be converted. 
+	 * @param vocabulary - the words of the language.
+	 * @return converted text.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public static String convert(String number, Vocabulary vocabulary) throws NumberFormatException, NumberOutOfRangeException {
+		return Converter.DEFAULT.convert(number, vocabulary);
+	}
+
+	/**
+	 * Convert a float number to text in the given language.
+	 * @param number - the number which will be converted to text.
+	 * @param vocabulary - the words of the language.
+	 * @return the converted text.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public static String convert(double number, Vocabulary vocabulary) throws NumberFormatException, NumberOutOfRangeException {
+		return Converter.DEFAULT.convert(number, vocabulary);
+	}
+
+	/**
+	 * Convert a number represented as a string to a text which is only produced when it's read. The number is parsed 
+	 * and validated now, but no character is produced until the text is read, appended to an output or written into a buffer,
+	 * so a text which is dropped, e.g. by a filter, costs one small object. See {@link AmountText}.
+	 * @param number - the number represented as a string which will be converted.
+	 * @return the text, the same as {@link #convert(String)} returns once it's read. It's empty for null or an empty string.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public static AmountText convertLazy(CharSequence number) throws NumberFormatException, NumberOutOfRangeException {
+		return Converter.DEFAULT.convertLazy(number);
+	}
+
+	/**
+	 * Convert an amount of cents to a text which is only produced when it's read, see {@link #convertLazy(CharSequence)}.
+	 * @param amountInCents - the amount in cents which will be converted to text.
+	 * @return the text, the same as {@link #convertCents(long)} returns once it's read.
+	 */
+	public static AmountText convertLazyCents(long amountInCents) {
+		ParsedAmount amount = splitCents(amountInCents);
+		return new AmountText(VOCABULARY, amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Convert a parsed number to a text which is only produced when it's read, see {@link #convertLazy(CharSequence)}.
+	 * @param amount - the parsed number.
+	 * @return the text, which is empty if the holder has no number, i.e., the input was empty.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public static AmountText convertLazy(ParsedAmount amount) {
+		return Converter.DEFAULT.convertLazy(amount);
+	}
+
+	/**
+	 * Convert a number represented as a string to text and append the text to the given output,
+	 * e.g. a StringBuilder or a Writer of a larger document. 
+	 * It produces the same text as {@link #convert(String)} without creating an intermediate String for the result.
+	 * Nothing is appended if the input is null or empty.
+	 * @param number - the number represented as a string which will be converted.
+	 * @param out - the output the text is appended to.
+	 * @return the output passed in.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	public static <A extends Appendable> A convert(CharSequence number, A out) 
+			throws NumberFormatException, NumberOutOfRangeException, IOException {
+		return Converter.DEFAULT.convert(number, out);
+	}
+
+	/**
+	 * Convert an integer of any size to text, beyond the range of {@link #convert(String)}. The scales larger than 
+	 * quintillion are named by the Conway-Wechsler system, e.g. "sextillion", "decillion", "centillion" and "millinillion".
+	 * It produces the same text as {@link #convert(String)} for the integers in its range.
+	 * @param number - the integer which will be converted.
+	 * @return the converted text.
+	 */
+	public static String convertUnbounded(BigInteger number) {
+		try {
+			return convertUnbounded(number.toString(), new StringBuilder()).toString();
+		} catch (IOException e) {
+			// A StringBuilder never throws an IOException.
+			throw new IllegalStateException(e);
 		}
+	}
 
-		StringBuffer result = new StringBuffer();
+	/**
+	 * Convert an integer of any size to text and append the text to the given output, see {@link #convertUnbounded(BigInteger)}.
+	 * @param number - the integer which will be converted.
+	 * @param out - the output the text is appended to.
+	 * @return the output passed in.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	public static <A extends Appendable> A convertUnbounded(BigInteger number, A out) throws IOException {
+		return convertUnbounded(number.toString(), out);
+	}
 
-		// Verify the input is a valid number
-		BigInteger[] validateRes = validateNumString(number);
-
-		// Get the integer part as a string since it might be out of the range for
-		// built-in integer data types.
-		String integerPart = validateRes[1].toString();
-
-		// Fraction is 2 digits, an integer should be OK for it. It can be represented
-		// by a String as well.
-		int fractionPart = validateRes[2].intValue();
-
-		// Generate the text if the amount is zero
-		if ((validateRes[1].compareTo(new BigInteger("0")) == 0)
-				&& (validateRes[2].compareTo(new BigInteger("0")) == 0)) {
-			return ZERO_STRING + " " + CURRENCY_INTEGER_STRING;
-		}
-
-		// Convert the integer part if it's not zero
-		if (validateRes[1].compareTo(new BigInteger("0")) > 0) {
-			// Hold the 3-digit substring in current iteration
-			String curString;
-			// Index to the UNIT array for each three digits, initially for the lowest 3
-			// digits
-			int unitIndex = 0;
-			// The number of digits in the integer part
-			int numIntegerDigits = integerPart.length();
-
-			myLogger.trace("Integer part: {} number of digits {} \n", integerPart, numIntegerDigits);
-
-			// Loop through the integer string and convert the number 3 digits in each
-			// iteration
-			while (numIntegerDigits > 0) {
-				int startingPos = numIntegerDigits > 3 ? numIntegerDigits - 3 : 0;
-				String tmpStr;
-				int tmpInt;
-
-				// if remaining digits is more than 3, get the lowest 3 digits
-				curString = integerPart.substring(startingPos, numIntegerDigits);
-				tmpInt = Integer.parseInt(curString);
-				myLogger.trace("Current number under processing:{}\n", curString);
-
-				// If the converted text is not empty, insert it to the result.
-				tmpStr = convertThreeDigits(tmpInt);
-				if (tmpStr != null && tmpStr.length() > 0) {
-					result.insert(0, tmpStr + SCALES_STRINGS[unitIndex] + " ");
-				}
-				unitIndex++;
-				numIntegerDigits -= 3;
-			}
+	/**
+	 * Convert an integer given by its digits to text and append the text to the given output, see {@link #convertUnbounded(BigInteger)}.
+	 * The digits are converted in a single pass in linear time, and the text is appended group by group, 
+	 * so the text of a number with millions of digits can be streamed to a Writer without holding it in memory.
+	 * Nothing is appended if the digits are not valid.
+	 * @param digits - the decimal digits of the integer with an optional sign, without commas.
+	 * @param out - the output the text is appended to.
+	 * @return the output passed in.
+	 * @throws NumberFormatException - thrown if the string does not represent an integer.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	public static <A extends Appendable> A convertUnbounded(CharSequence digits, A out) throws NumberFormatException, IOException {
+		if (digits == null || !UnboundedConverter.convert(digits, VOCABULARY, out)) {
+			throw new NumberFormatException(NUMBER_FORMAT_ERROR);
+		}
+		return out;
+	}
 
-			// Add the currency unit
-			result.append(CURRENCY_INTEGER_STRING);
+	/**
+	 * Convert a parsed number to text and append the text to the given buffer. Together with 
+	 * {@link #tryParse(CharSequence, ParsedAmount)} it converts numbers without throwing exceptions or creating scratch objects.
+	 * Nothing is appended if the holder has no number, i.e., the input was empty.
+	 * @param amount - the parsed number.
+	 * @param out - the buffer the text is appended to.
+	 * @return the buffer passed in.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public static StringBuilder convert(ParsedAmount amount, StringBuilder out) {
+		if (amount.status.isError()) {
+			throw new IllegalArgumentException("The number is not valid: " + amount.status);
+		}
 
-			// Add 's' if it's more than 1 dollar
-			if (validateRes[1].compareTo(new BigInteger("1")) > 0) {
-				result.append(PLURAL_STRING);
+		if (amount.status == ConversionStatus.OK) {
+			try {
+				appendAmount(amount.negative, amount.dollars, amount.cents, out);
+			} catch (IOException e) {
+				// A StringBuilder never throws an IOException.
+				throw new IllegalStateException(e);
 			}
 		}
 
-		// Append the fraction if it exists.
-		if (fractionPart != 0) {
-			myLogger.trace("Convert the fraction\n");
+		return out;
+	}
+
+	/**
+	 * Convert a parsed number to text and write it as UTF-8 bytes into the buffer, heap or direct, from its position.
+	 * The English text is plain ASCII. Nothing is allocated, the bytes of every word are encoded in advance.
+	 * If the text does not fit into the remaining bytes, nothing is written and the negated number of bytes needed is returned,
+	 * so the caller can retry with a larger buffer. Nothing is written if the holder has no number, i.e., the input was empty.
+	 * @param amount - the parsed number.
+	 * @param out - the buffer the text is written into.
+	 * @return the number of bytes written, or the negated number of bytes needed if the text does not fit.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public static int convert(ParsedAmount amount, ByteBuffer out) {
+		return Converter.DEFAULT.convert(amount, out);
+	}
+
+	/**
+	 * Convert an amount of cents to text and write it as UTF-8 bytes into the buffer, see {@link #convert(ParsedAmount, ByteBuffer)}.
+	 * @param amountInCents - the amount in cents which will be converted to text.
+	 * @param out - the buffer the text is written into.
+	 * @return the number of bytes written, or the negated number of bytes needed if the text does not fit.
+	 */
+	public static int convertCents(long amountInCents, ByteBuffer out) {
+		ParsedAmount amount = splitCents(amountInCents);
+		return VOCABULARY.encodeAmount(amount.negative, amount.dollars, amount.cents, out);
+	}
+
+	/**
+	 * Return the number of characters of the text of a number without converting it, e.g. to lay out a check before the text
+	 * is written. Only the lengths of the words are added, no text is built. It's the length of {@link #convert(String)}.
+	 * @param number - the number represented as a string.
+	 * @return the length of the text, 0 for null or an empty string.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	public static int textLength(CharSequence number) throws NumberFormatException, NumberOutOfRangeException {
+		return Converter.DEFAULT.textLength(number);
+	}
+
+	/**
+	 * Return the number of characters of the text of an amount of cents without converting it, see {@link #convertCents(long)}.
+	 * @param amountInCents - the amount in cents.
+	 * @return the length of the text.
+	 */
+	public static int textLengthCents(long amountInCents) {
+		ParsedAmount amount = splitCents(amountInCents);
+		return VOCABULARY.textLength(amount.negative, amount.dollars, amount.cents);
+	}
+
+	/**
+	 * Return the number of characters of the text of a parsed number without converting it, 
+	 * see {@link #convert(ParsedAmount, StringBuilder)}.
+	 * @param amount - the parsed number.
+	 * @return the length of the text, 0 if the holder has no number, i.e., the input was empty.
+	 * @throws IllegalArgumentException - thrown if the holder has an invalid number.
+	 */
+	public static int textLength(ParsedAmount amount) {
+		return Converter.DEFAULT.textLength(amount);
+	}
+
+	/**
+	 * Parse a number represented as a string into its sign, integer part and rounded fraction. It never throws an exception.
+	 * @param number - the number represented as a string.
+	 * @return the parsed number, its status tells whether the number is valid.
+	 */
+	public static ParsedAmount tryParse(CharSequence number) {
+		ParsedAmount amount = new ParsedAmount();
+		tryParse(number, amount);
+		return amount;
+	}
+
+	/**
+	 * Parse a number represented as a string into the given holder. It never throws an exception and does not allocate anything.
+	 * @param number - the number represented as a string.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @return the status of the number.
+	 */
+	public static ConversionStatus tryParse(CharSequence number, ParsedAmount amount) {
+		return tryParse(number, amount, Converter.DEFAULT);
+	}
+
+	/**
+	 * Parse a number represented as a string into the given holder with the precision, rounding and range of the converter.
+	 * @param number - the number represented as a string.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @param converter - the settings of the parsing.
+	 * @return the status of the number.
+	 */
+	static ConversionStatus tryParse(CharSequence number, ParsedAmount amount, Converter converter) {
+		ConversionStatus status = (number == null) ? ConversionStatus.EMPTY : scanNumber(number, amount, converter);
+
+		if (status != ConversionStatus.OK) {
+			amount.reset(status);
+		}
+		return status;
+	}
+
+	/**
+	 * Parse a number given as ASCII bytes into the given holder, e.g. a line of a batch file. The digits are validated 
+	 * and parsed 8 bytes at a time, the result is the same as {@link #tryParse(CharSequence, ParsedAmount)} for the same characters.
+	 * It never throws an exception.
+	 * @param bytes - the bytes holding the number.
+	 * @param offset - position of the first byte of the number.
+	 * @param length - number of bytes of the number.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @return the status of the number.
+	 */
+	public static ConversionStatus tryParse(byte[] bytes, int offset, int length, ParsedAmount amount) {
+		return tryParse(bytes, offset, length, amount, Converter.DEFAULT);
+	}
+
+	/**
+	 * Parse a number given as ASCII bytes into the given holder with the precision, rounding and range of the converter.
+	 * @param bytes - the bytes holding the number.
+	 * @param offset - position of the first byte of the number.
+	 * @param length - number of bytes of the number.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @param converter - the settings of the parsing.
+	 * @return the status of the number.
+	 */
+	static ConversionStatus tryParse(byte[] bytes, int offset, int length, ParsedAmount amount, Converter converter) {
+		if (offset < 0 || length < 0 || offset + length > bytes.length) {
+			throw new IndexOutOfBoundsException("Range: " + offset + " ~ " + (offset + length) + ", length: " + bytes.length);
+		}
+
+		ConversionStatus status = SwarScanner.scan(bytes, offset, length, amount, converter);
+		if (status != ConversionStatus.OK) {
+			amount.reset(status);
+		}
+		return status;
+	}
+
+	/**
+	 * Parse a float number into the given holder. It never throws an exception.
+	 * @param number - the float number.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @return the status of the number.
+	 */
+	public static ConversionStatus tryParse(double number, ParsedAmount amount) {
+		return tryParse(number, amount, Converter.DEFAULT);
+	}
+
+	/**
+	 * Parse a float number into the given holder with the precision, rounding and range of the converter.
+	 * @param number - the float number.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @param converter - the settings of the parsing.
+	 * @return the status of the number.
+	 */
+	static ConversionStatus tryParse(double number, ParsedAmount amount, Converter converter) {
+		if (isFloatOutOfRange(number)) {
+			amount.reset(ConversionStatus.OUT_OF_RANGE);
+			return ConversionStatus.OUT_OF_RANGE;
+		}
+
+		// Most numbers are rounded without formatting them, NaN fails the comparison and is rejected by the scanner.
+		if (Math.abs(number) < DIRECT_DOUBLE_LIMIT && isDirectRounding(converter)) {
+			return roundBinary(number, false, amount, converter);
+		}
+		return tryParse(String.valueOf(number), amount, converter);
+	}
+
+	/**
+	 * Parse a float number into the given holder with the precision, rounding and range of the converter. 
+	 * The number is rounded from its shortest decimal representation as a float.
+	 * @param number - the float number.
+	 * @param amount - the holder the number is parsed into, its status is set as well.
+	 * @param converter - the settings of the parsing.
+	 * @return the status of the number.
+	 */
+	static ConversionStatus tryParseFloat(float number, ParsedAmount amount, Converter converter) {
+		if (isFloatOutOfRange(number)) {
+			amount.reset(ConversionStatus.OUT_OF_RANGE);
+			return ConversionStatus.OUT_OF_RANGE;
+		}
+
+		if (Math.abs(number) < DIRECT_FLOAT_LIMIT && isDirectRounding(converter)) {
+			return roundBinary(number, true, amount, converter);
+		}
+		return tryParse(Float.toString(number), amount, converter);
+	}
+
+	/**
+	 * Return whether the converter rounds to cents HALF_UP, which is what the direct rounding of binary numbers supports.
+	 */
+	private static boolean isDirectRounding(Converter converter) {
+		return converter.precision == 2 && converter.roundingMode == RoundingMode.HALF_UP;
+	}
+
+	/**
+	 * Round a binary number HALF_UP to cents as if its shortest decimal representation was parsed, without formatting it.
+	 * The cents are computed exactly from the mantissa and the exponent. Rounding the shortest representation only differs
+	 * from rounding the exact value if the representation is a half cent, e.g. 0.995 whose closest double is 0.99499999...
+	 * That's the case if the half cent next to the exact value rounds to the same binary number.
+	 * @param number - the number, its absolute value is below DIRECT_DOUBLE_LIMIT, or DIRECT_FLOAT_LIMIT for a float.
+	 * @param isFloat - true if the number is a float widened to a double.
+	 * @param amount - the holder the number is parsed into.
+	 * @param converter - the settings of the parsing.
+	 * @return the status of the number.
+	 */
+	private static ConversionStatus roundBinary(double number, boolean isFloat, ParsedAmount amount, Converter converter) {
+		double magnitude = Math.abs(number);
+		long totalCents = 0;
+
+		if (magnitude >= ZERO_CENTS_LIMIT) {
+			// magnitude = mantissa * 2^-shift, the shift is 10 ~ 62 in this range, so the cents fit into a long.
+			long bits = Double.doubleToRawLongBits(magnitude);
+			long mantissa = (bits & 0xFFFFFFFFFFFFFL) | 0x10000000000000L;
+			int shift = 1075 - (int) (bits >>> 52);
 
-			// Append "and" if the number has both integer and fraction parts.
-			if (result.length() != 0) {
-				result.append(" " + AND_STRING + " ");
+			long scaled = mantissa * CENTS_PER_DOLLAR;
+			totalCents = scaled >>> shift;
+			long remainder = scaled & ((1L << shift) - 1);
+			long half = 1L << (shift - 1);
+
+			if (remainder >= half) {
+				totalCents++;
+			} else {
+				// The half cent above the exact value, it's the shortest representation if it rounds to the same number.
+				double halfCent = (2 * totalCents + 1) / (2.0d * CENTS_PER_DOLLAR);
+				if (isFloat ? (float) halfCent == (float) magnitude : halfCent == magnitude) {
+					totalCents++;
+				}
 			}
+		}
+
+		long dollars = totalCents / CENTS_PER_DOLLAR;
+		int cents = (int) (totalCents % CENTS_PER_DOLLAR);
+		long maxDollars = converter.maxDollars;
+		if (dollars > maxDollars || (dollars == maxDollars && cents != 0)) {
+			amount.reset(ConversionStatus.OUT_OF_RANGE);
+			return ConversionStatus.OUT_OF_RANGE;
+		}
+
+		// A number rounded to zero is not negative.
+		amount.set(number < 0 && totalCents != 0, dollars, cents);
+		return ConversionStatus.OK;
+	}
+
+	/**
+	 * Return whether a float number is out of the range of float numbers, i.e., MIN_FLOAT_VALUE ~ MAX_FLOAT_VALUE.
+	 */
+	static boolean isFloatOutOfRange(double number) {
+		return number > MAX_FLOAT_VALUE || number < MIN_FLOAT_VALUE;
+	}
 
-			// Fraction only has 2 digits, therefore, can be handled by the other method.
-			result.append(convertThreeDigits((int) fractionPart));
+	/**
+	 * Convert a number represented as a string to text. It never throws an exception.
+	 * @param number - the number represented as a string which will be converted.
+	 * @return the status and the text, which is empty for an empty input and null for an invalid number.
+	 */
+	public static ConversionResult tryConvert(CharSequence number) {
+		return Converter.DEFAULT.tryConvert(number);
+	}
 
-			result.append(" " + CURRENCY_DECIMAL_STRING);
+	/**
+	 * Convert a float number to text. It never throws an exception.
+	 * @param number - the number which will be converted to text.
+	 * @return the status and the text, which is null for an invalid number.
+	 */
+	public static ConversionResult tryConvert(double number) {
+		return Converter.DEFAULT.tryConvert(number);
+	}
 
-			if (fractionPart != 1) {
-				result.append(PLURAL_STRING);
+	/**
+	 * Convert a number represented as a string to text and append the text to the given buffer. It never throws an exception.
+	 * Nothing is appended if the number is empty or invalid.
+	 * @param number - the number represented as a string which will be converted.
+	 * @param out - the buffer the text is appended to.
+	 * @return the status of the number.
+	 */
+	public static ConversionStatus tryConvert(CharSequence number, StringBuilder out) {
+		return Converter.DEFAULT.tryConvert(number, out);
+	}
+
+	/**
+	 * Parse English text of an amount back to the number, e.g. "minus one hundred two thousand dollars and five cents"
+	 * is parsed to -102000.05. It's the reverse of {@link #convert(String)}. It never throws an exception.
+	 * @param text - the text of the amount.
+	 * @return the parsed number, its status is INVALID_FORMAT if a word is unknown or out of place.
+	 */
+	public static ParsedAmount parseText(CharSequence text) {
+		return Converter.DEFAULT.parseText(text);
+	}
+
+	/**
+	 * Convert every number of the array to text. Large arrays are split across the threads of the common ForkJoinPool.
+	 * An invalid number does not stop the batch, its status is reported in the result at the same index.
+	 * @param numbers - the numbers represented as strings which will be converted.
+	 * @return the converted texts and errors in the order of the input.
+	 */
+	public static BatchResult convertAll(String[] numbers) {
+		return convertAll(numbers, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Convert every number of the array to text. Large arrays are split across the threads of the given pool.
+	 * An invalid number does not stop the batch, its status is reported in the result at the same index.
+	 * @param numbers - the numbers represented as strings which will be converted.
+	 * @param pool - the pool which runs the conversion.
+	 * @return the converted texts and errors in the order of the input.
+	 */
+	public static BatchResult convertAll(String[] numbers, ForkJoinPool pool) {
+		return convertAll(Arrays.asList(numbers), pool);
+	}
+
+	/**
+	 * Convert every number of the list to text. Large lists are split across the threads of the common ForkJoinPool.
+	 * An invalid number does not stop the batch, its status is reported in the result at the same index.
+	 * The list should support fast random access, e.g. an ArrayList.
+	 * @param numbers - the numbers represented as strings which will be converted.
+	 * @return the converted texts and errors in the order of the input.
+	 */
+	public static BatchResult convertAll(List<? extends CharSequence> numbers) {
+		return convertAll(numbers, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Convert every number of the list to text. Large lists are split across the threads of the given pool.
+	 * An invalid number does not stop the batch, its status is reported in the result at the same index.
+	 * The list should support fast random access, e.g. an ArrayList.
+	 * @param numbers - the numbers represented as strings which will be converted.
+	 * @param pool - the pool which runs the conversion.
+	 * @return the converted texts and errors in the order of the input.
+	 */
+	public static BatchResult convertAll(List<? extends CharSequence> numbers, ForkJoinPool pool) {
+		BatchResult result = new BatchResult(numbers);
+		pool.invoke(new BatchConversion.StringTask(numbers, result, 0, numbers.size()));
+		return result;
+	}
+
+	/**
+	 * Convert every amount of cents in the array to text. Large arrays are split across the threads of the common ForkJoinPool.
+	 * @param amountsInCents - the amounts in cents which will be converted.
+	 * @return the converted texts in the order of the input.
+	 */
+	public static String[] convertAll(long[] amountsInCents) {
+		return convertAll(amountsInCents, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Convert every amount of cents in the array to text. Large arrays are split across the threads of the given pool.
+	 * @param amountsInCents - the amounts in cents which will be converted.
+	 * @param pool - the pool which runs the conversion.
+	 * @return the converted texts in the order of the input.
+	 */
+	public static String[] convertAll(long[] amountsInCents, ForkJoinPool pool) {
+		String[] texts = new String[amountsInCents.length];
+		pool.invoke(new BatchConversion.CentsTask(amountsInCents, texts, 0, amountsInCents.length));
+		return texts;
+	}
+
+	/**
+	 * Convert amounts in cents to text, writing all texts as UTF-8 bytes into one direct buffer outside the heap.
+	 * No String is created for the texts, each one is found in the arena by its index.
+	 * The amounts are read from the position to the limit of the buffer, its position is not changed.
+	 * @param amountsInCents - the amounts in cents, heap or direct.
+	 * @return the arena of the texts in the order of the input.
+	 * @throws IllegalStateException - thrown if the texts are larger than 2 GB, the batch must be split then.
+	 */
+	public static TextArena convertAll(LongBuffer amountsInCents) {
+		return TextArena.convert(amountsInCents);
+	}
+
+	/**
+	 * Convert amounts in cents to text, see {@link #convertAll(LongBuffer)}. The amounts are the longs of the buffer, 
+	 * in its byte order, from its position to its limit.
+	 * @param amountsInCents - the amounts in cents, e.g. a direct buffer filled by a channel.
+	 * @return the arena of the texts in the order of the input.
+	 * @throws IllegalStateException - thrown if the texts are larger than 2 GB, the batch must be split then.
+	 */
+	public static TextArena convertAll(ByteBuffer amountsInCents) {
+		return TextArena.convert(amountsInCents.asLongBuffer());
+	}
+
+	/**
+	 * Load and initialize everything the conversions need up front, e.g. while a short-lived program or a worker starts, 
+	 * so the first real call does not pay for it. The tables built on the first use, the parsers, the rounding of doubles 
+	 * and floats, the text parser and the logger are all prepared. It's called once, later calls only repeat the work.
+	 * Nothing is recorded in the metrics.
+	 */
+	public static void warmUp() {
+		ConverterMetrics.getInstance();
+		Log.myLogger.isDebugEnabled();
+
+		ParsedAmount amount = new ParsedAmount();
+		StringBuilder text = new StringBuilder();
+		ByteBuffer bytes = ByteBuffer.allocate(256);
+		byte[] ascii = { '-', '1', ',', '2', '3', '4', ',', '5', '6', '7', '.', '8', '9' };
+		String[] numbers = { "1,234,567.891", "-0.5", "1e3", ".5", "1,23", "1000000000000000001" };
+
+		for (String number : numbers) {
+			if (!tryParse(number, amount).isError()) {
+				convert(amount, text);
+				convert(amount, bytes);
+				bytes.clear();
 			}
 		}
+		tryParse(ascii, 0, ascii.length, amount);
+		tryParse(1234.5678d, amount);
+		tryParse(1e17d, amount);
+		tryParseFloat(12.34f, amount, Converter.DEFAULT);
+		convertCents(1234567L, text);
+		Converter.DEFAULT.parseText(text, amount);
+		try {
+			convertUnbounded("12345678901234567890123", new StringBuilder());
+		} catch (IOException e) {
+			// A StringBuilder never throws an IOException.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Parse a number represented as a string into its sign, integer part and rounded fraction.
+	 * @param number - the number represented as a string.
+	 * @param amount - the holder the number is parsed into.
+	 * @return false if the input is null or empty, true if the number is parsed.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	static boolean parse(CharSequence number, ParsedAmount amount) throws NumberFormatException, NumberOutOfRangeException {
+		ConversionStatus status = tryParse(number, amount);
+		if (status == ConversionStatus.EMPTY) {
+			return false;
+		}
+		checkStatus(status, number);
+
+		return true;
+	}
+
+	/**
+	 * Parse a float number into its sign, integer part and rounded fraction.
+	 * @param number - the float number.
+	 * @param amount - the holder the number is parsed into.
+	 * @throws NumberFormatException - thrown if the number is not a valid float number, i.e., NaN.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	static void parse(double number, ParsedAmount amount) throws NumberFormatException, NumberOutOfRangeException {
+		checkStatus(number, tryParse(number, amount));
+	}
+
+	/**
+	 * Throw the exception for the status of a float number, nothing is thrown for a valid number.
+	 * @param number - the float number.
+	 * @param status - the status of the number.
+	 * @throws NumberFormatException - thrown if the number is not a valid float number, i.e., NaN.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	static void checkStatus(double number, ConversionStatus status) throws NumberFormatException, NumberOutOfRangeException {
+		if (status == ConversionStatus.OUT_OF_RANGE) {
+			throw new NumberOutOfRangeException(Double.toString(number), 
+					                            Double.toString(MAX_FLOAT_VALUE), 
+					                            Double.toString(MIN_FLOAT_VALUE));
+		} else if (status != ConversionStatus.OK) {
+			checkStatus(status, String.valueOf(number));
+		}
+	}
 
-		// Prepend "minus" if needed.
-		if (validateRes[0].compareTo(new BigInteger(MINUS_SIGN)) == 0) {
-			result.insert(0, MINUS_STRING + " ");
+	/**
+	 * Convert a number which is already split into its sign, integer part and fraction part to text.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number, 0 ~ 99.
+	 * @return the converted text.
+	 */
+	static String convert(boolean negative, long dollars, int cents) {
+		return convert(negative, dollars, cents, VOCABULARY);
+	}
+
+	/**
+	 * Convert a number which is already split into its sign, integer part and fraction part to text in the given language.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number, 0 ~ 99.
+	 * @param vocabulary - the words of the language.
+	 * @return the converted text.
+	 */
+	static String convert(boolean negative, long dollars, int cents, Vocabulary vocabulary) {
+		// The buffer has the exact length of the text, it never grows.
+		StringBuilder result = new StringBuilder(vocabulary.textLength(negative, dollars, cents));
+
+		try {
+			vocabulary.appendAmount(negative, dollars, cents, result);
+		} catch (IOException e) {
+			// A StringBuilder never throws an IOException.
+			throw new IllegalStateException(e);
 		}
 
 		return result.toString();
 	}
+
+	/**
+	 * Convert a number which is already split into its sign, integer part and fraction part to text,
+	 * and append the text to the output. The text is written from left to right, nothing is inserted.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number, 0 ~ 99.
+	 * @param out - the output the text is appended to.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	private static void appendAmount(boolean negative, long dollars, int cents, Appendable out) throws IOException {
+		VOCABULARY.appendAmount(negative, dollars, cents, out);
+	}
 	
 	/**
-	 * This method validate whether the input string represents a valid float number. 
-	 * If it's not valid, exception would be thrown. Otherwise, it rounds the number, and return the integer part and decimal part of the number.
+	 * This method validates whether the input string represents a valid float number and parses it in one pass from left to right.
+	 * Spaces on either end are ignored. Besides the digits, the number may have a sign, one '.', ',' to group the digits 
+	 * and an exponent, e.g. "1.0E7" as produced by String.valueOf(double).
+	 * Every ',' must be a multiple of 3 digits away from '.', or from the end if there is no '.'. 
+	 * The number is rounded to the precision of the converter, HALF_UP by default. 
+	 * Nothing is allocated, the result is stored in the given holder if the number is valid.
 	 * @param input - a number in string representation 
-	 * @return it returns an array with three elements
-	 * 			- Element 0 is the sign of the number, 1 is positive and -1 is negative
-	 *          - Element 1 is the integer part of the number
-	 *          - Element 2 is the decimal part of the number 
-	 * @throws NumberFormatException
-	 * @throws Exception
-	 */
-	private static BigInteger[] validateNumString(String inStr) throws NumberFormatException, NumberOutOfRangeException {
-		BigInteger[] res = new BigInteger[3];
-		BigDecimal inNumber;
-		
-		//A valid number should not start with '.'
-		if( inStr.charAt(0) == '.')
-		{
-			throw new NumberFormatException("A valid number should not start with '.'!");
+	 * @param out - holder of the sign, the integer part and the rounded fraction of the number.
+	 * @param converter - the precision, rounding and range.
+	 * @return OK if the number is valid, otherwise the reason why it's not valid.
+	 */
+	private static ConversionStatus scanNumber(CharSequence input, ParsedAmount out, Converter converter) {
+		int start = 0;
+		int end = input.length();
+
+		// Skip the spaces on either end, the same as String.trim() does.
+		while (start < end && input.charAt(start) <= ' ') {
+			start++;
 		}
-		
-		//Check whether there are 3 digits between ',' and '. or two ','. 
-        //Remove ',' if they are in the right positions.
-		StringBuffer tmpStr = new StringBuffer(inStr);
-		
-		//Get the position of '.'. Set it to the string end if this number does not have a dot.
-		int dot_position = tmpStr.indexOf(DOT_STRING);
-		
-		//If there is no '.', set the position to string length.
-		if(dot_position == -1){
-			dot_position = tmpStr.length();
+		while (end > start && input.charAt(end - 1) <= ' ') {
+			end--;
 		}
-		
-		int comma_position = tmpStr.indexOf(COMMA_STRING);
-		
-		//If it contains ',', check the position.
-		while(comma_position != -1) {
-			//If it starts with ',', 
-			//or a ',' appears after the '.'
-			//or it's not at the right position, throw an exception.
-			if( (comma_position == 0) ||
-				(comma_position > dot_position) ||
-				(( dot_position - comma_position) % COMMAS_DISTANCE != 0)) {
-				throw new NumberFormatException(inStr + " has \',\' at wrong postions.");
-			}
-			
-			//Remove current ',' and get the position of next ','. 
-			tmpStr.deleteCharAt(comma_position);
-			dot_position--;
-			comma_position = tmpStr.indexOf(COMMA_STRING);
+
+		if (start == end) {
+			return ConversionStatus.EMPTY;
 		}
-		
-		inStr = tmpStr.toString();
-		
-		// Is the input string a valid number? A NumberFormatException is thrown if it's
-		// not valid.
-		inNumber = new BigDecimal(inStr);
 
-		// Round the number to 2 decimal digit
-		inNumber = inNumber.setScale(PRECISION, RoundingMode.HALF_UP);
+		//A valid number should not start with '.'
+		if (input.charAt(start) == DOT_CHAR) {
+			return ConversionStatus.LEADING_DOT;
+		}
 
-		// Is the number in the range?
-		if (inNumber.compareTo(MAX_VALUE) > 0 || inNumber.compareTo(MIN_VALUE) < 0) {
-			myLogger.info("Input {} is out of range " + inStr.toString());
-			NumberOutOfRangeException noore = 
-					new NumberTextConverter().new NumberOutOfRangeException("Number out of range: " + inStr.toString(), 
-							MAX_VALUE.toString(), MIN_VALUE.toString());
-			throw noore;
+		int pos = start;
+		boolean negative = false;
+		char c = input.charAt(pos);
+		if (c == MINUS_CHAR || c == PLUS_CHAR) {
+			negative = (c == MINUS_CHAR);
+			pos++;
 		}
+		int mantissaStart = pos;
 
-		// Check its sign, res[0] indicates the sign
-		res[0] = new BigInteger(PLUS_SIGN);
+		long dollars = 0;
+		boolean overflow = false;
+		int integerDigits = 0;
+		int cents = 0;
+		int fractionDigits = 0;
+		int roundingDigit = 0;
+		boolean sticky = false;
+		int precision = converter.precision;
+		long maxDollars = converter.maxDollars;
+		// Positions are relative to the start of the trimmed string.
+		int dotPosition = -1;
+		// Position of the first ',' modulo COMMAS_DISTANCE, all others must have the same one as the '.'
+		int commaOffset = -1;
+		int exponentPosition = -1;
+		long exponent = 0;
+		boolean exponentNegative = false;
+		boolean exponentHasDigits = false;
+		boolean exponentHasSign = false;
 
-		if (inNumber.compareTo(new BigDecimal("0")) < 0) {
-			res[0] = new BigInteger(MINUS_SIGN);
+		for (; pos < end; pos++) {
+			c = input.charAt(pos);
 
-			// Get the abs value if it's negative
-			inNumber = inNumber.abs();
+			if (c == COMMA_CHAR) {
+				// ',' is not allowed at the start or after '.', and all ',' must be 3 digits apart from '.' or another ','.
+				int offset = (pos - start) % COMMAS_DISTANCE;
+				if (pos == start || dotPosition >= 0 || (commaOffset >= 0 && offset != commaOffset)) {
+					return ConversionStatus.MISPLACED_COMMA;
+				}
+				commaOffset = offset;
+			} else if (exponentPosition >= 0) {
+				// The exponent is an integer with an optional sign.
+				if (c >= '0' && c <= '9') {
+					exponent = exponent * 10 + (c - '0');
+					if (exponent > Integer.MAX_VALUE) {
+						return ConversionStatus.INVALID_FORMAT;
+					}
+					exponentHasDigits = true;
+				} else if ((c == MINUS_CHAR || c == PLUS_CHAR) && !exponentHasDigits && !exponentHasSign) {
+					exponentNegative = (c == MINUS_CHAR);
+					exponentHasSign = true;
+				} else {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+			} else if (c >= '0' && c <= '9') {
+				int digit = c - '0';
+
+				if (dotPosition < 0) {
+					// Integer part, it's out of the range once it's larger than the maximal value.
+					integerDigits++;
+					if (!overflow) {
+						if (dollars > maxDollars / 10 || (dollars == maxDollars / 10 && digit > maxDollars % 10)) {
+							overflow = true;
+						} else {
+							dollars = dollars * 10 + digit;
+						}
+					}
+				} else {
+					// Fraction part, keep the digits within the precision and the one deciding the rounding.
+					if (fractionDigits < precision) {
+						cents += digit * converter.placeValues[fractionDigits];
+					} else if (fractionDigits == precision) {
+						roundingDigit = digit;
+					} else if (digit != 0) {
+						sticky = true;
+					}
+					fractionDigits++;
+				}
+			} else if (c == DOT_CHAR && dotPosition < 0) {
+				dotPosition = pos - start;
+				if (commaOffset >= 0 && dotPosition % COMMAS_DISTANCE != commaOffset) {
+					return ConversionStatus.MISPLACED_COMMA;
+				}
+			} else if ((c == 'e' || c == 'E') && pos > mantissaStart) {
+				exponentPosition = pos;
+			} else {
+				return ConversionStatus.INVALID_FORMAT;
+			}
 		}
 
-		// Divide it to the integer section and decimal section
-		res[1] = inNumber.toBigInteger();
-		BigDecimal tmpBigDecimal = inNumber.subtract(new BigDecimal(res[1]));
-		res[2] = tmpBigDecimal.scaleByPowerOfTen(PRECISION).toBigInteger();
+		// There must be at least one digit, and at least one digit in the exponent if there is one.
+		if (integerDigits + fractionDigits == 0 || (exponentPosition >= 0 && !exponentHasDigits)) {
+			return ConversionStatus.INVALID_FORMAT;
+		}
 
-		myLogger.trace("The number is valid: sign is {}, integer part is {}, decimal part is {}", res[0].toString(),
-				res[1].toString(), res[2].toString());
+		// Without '.', ',' must be a multiple of 3 digits away from the end.
+		if (dotPosition < 0 && commaOffset >= 0 && (end - start) % COMMAS_DISTANCE != commaOffset) {
+			return ConversionStatus.MISPLACED_COMMA;
+		}
+
+		// An exponent moves the '.', therefore the digits are placed again. This is rare and done in a second pass.
+		if (exponent != 0) {
+			return scanScaledNumber(input, mantissaStart, exponentPosition, 
+					integerDigits + (exponentNegative ? -exponent : exponent), negative, out, converter);
+		}
 
-		return res;
+		return roundNumber(negative, dollars, overflow, cents, roundingDigit, sticky, out, converter);
 	}
 
 	/**
-	 * Convert a number with no more than three digits to text.
-	 * @param number - the number which will be converted
-	 * @return the converted text representation of the number
+	 * Place the digits of a valid number with an exponent, i.e., the '.' is moved by the exponent.
+	 * @param input - a number in string representation 
+	 * @param from - position of the first digit.
+	 * @param to - position of the exponent mark.
+	 * @param integerDigits - the number of digits before the moved '.', it can be negative or larger than the number of digits.
+	 * @param negative - true if the number has a '-' sign.
+	 * @param out - holder of the sign, the integer part and the rounded fraction of the number.
+	 * @param converter - the precision, rounding and range.
+	 * @return OK if the number is in the range, otherwise OUT_OF_RANGE.
 	 */
-	private static String convertThreeDigits(int number) throws NumberFormatException{
+	private static ConversionStatus scanScaledNumber(CharSequence input, int from, int to, long integerDigits, boolean negative, 
+			ParsedAmount out, Converter converter) {
+		long dollars = 0;
+		boolean overflow = false;
+		int cents = 0;
+		int roundingDigit = 0;
+		boolean sticky = false;
+		int precision = converter.precision;
+		long maxDollars = converter.maxDollars;
+		long digitPosition = 0;
 
-		myLogger.trace("Converting number {}\n", number);
+		for (int pos = from; pos < to; pos++) {
+			char c = input.charAt(pos);
+			if (c < '0' || c > '9') {
+				continue;
+			}
 
-		if (number == 0) {
-			return "";
+			int digit = c - '0';
+			if (digitPosition < integerDigits) {
+				if (!overflow) {
+					if (dollars > maxDollars / 10 || (dollars == maxDollars / 10 && digit > maxDollars % 10)) {
+						overflow = true;
+					} else {
+						dollars = dollars * 10 + digit;
+					}
+				}
+			} else {
+				long fractionPosition = digitPosition - integerDigits;
+				if (fractionPosition < precision) {
+					cents += digit * converter.placeValues[(int) fractionPosition];
+				} else if (fractionPosition == precision) {
+					roundingDigit = digit;
+				} else if (digit != 0) {
+					sticky = true;
+				}
+			}
+			digitPosition++;
 		}
 
-		StringBuilder stringB = new StringBuilder();
+		// The '.' is moved beyond the last digit, append zeros to the integer part.
+		for (long i = digitPosition; i < integerDigits && dollars != 0 && !overflow; i++) {
+			if (dollars > maxDollars / 10) {
+				overflow = true;
+			} else {
+				dollars *= 10;
+			}
+		}
+
+		return roundNumber(negative, dollars, overflow, cents, roundingDigit, sticky, out, converter);
+	}
 
-		//It could be handled in a different way because this is an internal error by invoking a private method.
-		if (number > 999) {
-			myLogger.error("Expecting a 3-digit number, but get a larger one: " + number +"!\n");
-			throw new NumberFormatException("Expecting a 3-digit number, but get a larger one: " + number +"!\n");
+	/**
+	 * Round the parsed number, check whether it's in the range, and store it in the holder.
+	 * @param negative - true if the number has a '-' sign.
+	 * @param dollars - the integer part of the number.
+	 * @param overflow - true if the integer part is already known to be larger than the maximal value.
+	 * @param cents - the fraction part of the number within the precision.
+	 * @param roundingDigit - the first fraction digit beyond the precision.
+	 * @param sticky - true if there are non-zero digits after the rounding digit.
+	 * @param out - holder of the sign, the integer part and the rounded fraction of the number.
+	 * @param converter - the precision, rounding and range.
+	 * @return OK if the number is in the range, otherwise OUT_OF_RANGE.
+	 */
+	static ConversionStatus roundNumber(boolean negative, long dollars, boolean overflow, int cents, int roundingDigit, 
+			boolean sticky, ParsedAmount out, Converter converter) {
+		// The last digit kept decides HALF_EVEN, it's the last digit of the integer part if no fraction is kept.
+		int lastDigit = (converter.precision == 0) ? (int) (dollars % 10) : cents % 10;
+		if (converter.roundsUp(negative, lastDigit, roundingDigit, sticky)) {
+			cents++;
+			if (cents == converter.unitsPerWhole) {
+				cents = 0;
+				dollars++;
+			}
 		}
-		
-		if (number >= 100) {
-			int firstDigit = number / 100;
-			number = number % 100;
-			stringB.append(NUMBER_STRINGS[firstDigit] + " " + HUNDRED_STRING + " ");
+
+		// Is the number in the range?
+		long maxDollars = converter.maxDollars;
+		if (overflow || dollars > maxDollars || (dollars == maxDollars && cents != 0)) {
+			return ConversionStatus.OUT_OF_RANGE;
 		}
 
-		if (number < 20) {
-			stringB.append(NUMBER_STRINGS[number]);
-		} else {
-			stringB.append(TENS_STRINGS[number / 10]);
-			if (number % 10 != 0) {
-				stringB.append(" " + NUMBER_STRINGS[number % 10]);
-			}
+		// A number rounded to zero is not negative.
+		out.set(negative && (dollars != 0 || cents != 0), dollars, cents, converter.precision);
+
+		return ConversionStatus.OK;
+	}
+
+	/**
+	 * Throw the exception matching the status of parsing a number, nothing is thrown if the number is valid or empty.
+	 * @param status - the status of the number.
+	 * @param input - the number in string representation.
+	 * @throws NumberFormatException - thrown if the string does not represent a valid float number.
+	 * @throws NumberOutOfRangeException - thrown if the number is out of the range.
+	 */
+	static void checkStatus(ConversionStatus status, CharSequence input) throws NumberFormatException, NumberOutOfRangeException {
+		Exception exception = createException(status, input);
+
+		if (exception instanceof NumberOutOfRangeException) {
+			throw (NumberOutOfRangeException) exception;
+		} else if (exception != null) {
+			throw (NumberFormatException) exception;
 		}
+	}
 
-		return stringB.toString();
+	/**
+	 * Create the exception matching the status of parsing a number.
+	 * @param status - the status of the number.
+	 * @param input - the number in string representation.
+	 * @return a NumberFormatException or a NumberOutOfRangeException, or null if the number is valid or empty.
+	 */
+	static Exception createException(ConversionStatus status, CharSequence input) {
+		switch (status) {
+		case LEADING_DOT:
+			return new NumberFormatException("A valid number should not start with '.'!");
+		case MISPLACED_COMMA:
+			return new NumberFormatException(input + " has \',\' at wrong postions.");
+		case INVALID_FORMAT:
+			return new NumberFormatException(input + ": " + NUMBER_FORMAT_ERROR);
+		case OUT_OF_RANGE:
+			Log.myLogger.debug("Input {} is out of range", input);
+			return new NumberOutOfRangeException("Number out of range: " + input, MAX_VALUE.toString(), MIN_VALUE.toString());
+		default:
+			return null;
+		}
 	}
 
 	/**
@@ -418,7 +1120,7 @@ public class NumberTextConverter {
 	 * @author 
 	 *
 	 */
-	public class NumberOutOfRangeException extends Exception{
+	public static class NumberOutOfRangeException extends Exception{
 		private static final long serialVersionUID = 1L;
 		String errInfo;
 		
@@ -0,0 +1,147 @@
+package com.zhong.projects;
+
+/**
+ * Holds a number parsed from its string representation: the status, the sign, the integer part and the rounded fraction.
+ * An instance is filled by {@link NumberTextConverter#tryParse(CharSequence, ParsedAmount)} and can be reused for 
+ * the next number, so parsing does not allocate anything.
+ * @author 
+ *
+ */
+public final class ParsedAmount {
+
+	//Outcome of the last parsing
+	ConversionStatus status = ConversionStatus.EMPTY;
+
+	//True if the number is negative. A number rounded to zero is never negative.
+	boolean negative;
+
+	//The integer part of the absolute value, it's not larger than the maximal supported number.
+	long dollars;
+
+	//The fraction part of the absolute value rounded to the precision, i.e., the cents.
+	int cents;
+
+	//Number of fraction digits of the cents, the precision of the converter which parsed the number
+	int precision = 2;
+
+	/**
+	 * Constructor of an empty holder.
+	 */
+	public ParsedAmount() {
+	}
+
+	/**
+	 * Set all parts of a valid number with a precision of 2.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the absolute value.
+	 * @param cents - the rounded fraction part of the absolute value.
+	 */
+	void set(boolean negative, long dollars, int cents) {
+		set(negative, dollars, cents, 2);
+	}
+
+	/**
+	 * Set all parts of a valid number.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the absolute value.
+	 * @param cents - the rounded fraction part of the absolute value in units of the precision.
+	 * @param precision - the number of fraction digits of the cents, 0 ~ 3.
+	 */
+	void set(boolean negative, long dollars, int cents, int precision) {
+		this.status = ConversionStatus.OK;
+		this.negative = negative;
+		this.dollars = dollars;
+		this.cents = cents;
+		this.precision = precision;
+	}
+
+	/**
+	 * Clear the number and keep the reason why there is none.
+	 * @param status - the outcome of the parsing.
+	 */
+	void reset(ConversionStatus status) {
+		this.status = status;
+		this.negative = false;
+		this.dollars = 0;
+		this.cents = 0;
+	}
+
+	/**
+	 * Return the outcome of the last parsing.
+	 */
+	public ConversionStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Return whether the holder has a valid number.
+	 */
+	public boolean isValid() {
+		return status == ConversionStatus.OK;
+	}
+
+	/**
+	 * Return whether the number is negative.
+	 */
+	public boolean isNegative() {
+		return negative;
+	}
+
+	/**
+	 * Return the integer part of the absolute value.
+	 */
+	public long getDollars() {
+		return dollars;
+	}
+
+	/**
+	 * Return the rounded fraction part of the absolute value in units of the precision, e.g. cents for a precision of 2.
+	 */
+	public int getCents() {
+		return cents;
+	}
+
+	/**
+	 * Return the number of fraction digits of the cents, the precision of the converter which parsed the number.
+	 */
+	public int getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Return the signed amount in units of the precision, e.g. cents for a precision of 2 or mills for a precision of 3.
+	 * @throws ArithmeticException - thrown if the amount does not fit into a long, i.e., it's above about 92 quadrillion dollars.
+	 */
+	public long getAmountInCents() {
+		long unitsPerWhole = 1;
+		for (int i = 0; i < precision; i++) {
+			unitsPerWhole *= 10;
+		}
+		long amount = Math.addExact(Math.multiplyExact(dollars, unitsPerWhole), cents);
+		return negative ? -amount : amount;
+	}
+
+	/**
+	 * Return the string representation of this class, the number with the digits of the precision or the status.
+	 */
+	public String toString() {
+		if (!isValid()) {
+			return status.toString();
+		}
+
+		StringBuilder text = new StringBuilder();
+		if (negative) {
+			text.append('-');
+		}
+		text.append(dollars);
+		if (precision > 0) {
+			String fraction = Integer.toString(cents);
+			text.append('.');
+			for (int i = fraction.length(); i < precision; i++) {
+				text.append('0');
+			}
+			text.append(fraction);
+		}
+		return text.toString();
+	}
+}
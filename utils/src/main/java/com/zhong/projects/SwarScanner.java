@@ -0,0 +1,243 @@
+package com.zhong.projects;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses numbers given as ASCII bytes in an array, 8 bytes at a time. Every 8 bytes are read as one long and classified with
+ * SWAR (SIMD within a register) arithmetic into masks of the digits, the ',' and the '.', so a number is validated with a few
+ * long operations per 8 characters instead of a branch per character, and runs of 8 digits are converted with 3 multiplications.
+ * <p>
+ * Only the plain form of a number is parsed here: an optional sign followed by digits, ',' and at most one '.'.
+ * The rules are those of the scanner of NumberTextConverter, i.e., no leading '.', every ',' a multiple of COMMAS_DISTANCE
+ * away from the '.' or the end, and no ',' after the '.'. Any other input, including every invalid one, is passed to 
+ * that scanner, so both give the same result for every input.
+ * @author
+ *
+ */
+final class SwarScanner {
+
+	//Every byte of a long set to the same value
+	private static final long ONES = 0x0101010101010101L;
+
+	private static final long HIGH_BITS = 0x8080808080808080L;
+
+	private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+	private static final long ZEROS = '0' * ONES;
+
+	private static final long COMMAS = ',' * ONES;
+
+	private static final long DOTS = '.' * ONES;
+
+	//Adding these to a byte of 7 bits sets its high bit if the byte is at least '0', or at least ':' respectively
+	private static final long AT_LEAST_ZERO = (0x80 - '0') * ONES;
+
+	private static final long AT_LEAST_COLON = (0x80 - ':') * ONES;
+
+	//Distance between two ',' in a number, which is 3 digits away. It's a power of 2, so the remainder is taken with a mask.
+	private static final int COMMAS_DISTANCE = 4;
+
+	private static final int COMMAS_MASK = COMMAS_DISTANCE - 1;
+
+	//The most integer digits converted without checking the range, a number of 18 digits always fits into a long
+	private static final int MAX_SAFE_DIGITS = 18;
+
+	private static final byte DOT = '.';
+
+	private SwarScanner() {
+	}
+
+	/**
+	 * Parse the number in a range of the array into the holder. Spaces on either end are ignored.
+	 * @param in - the array holding the number in ASCII.
+	 * @param offset - position of the first byte of the number.
+	 * @param length - number of bytes of the number.
+	 * @param out - holder of the sign, the integer part and the rounded fraction of the number.
+	 * @param converter - the precision, rounding and range.
+	 * @return OK if the number is valid, otherwise the reason why it's not valid.
+	 */
+	static ConversionStatus scan(byte[] in, int offset, int length, ParsedAmount out, Converter converter) {
+		int start = offset;
+		int end = offset + length;
+
+		// Skip the spaces on either end, the same as String.trim() does.
+		while (start < end && (in[start] & 0xFF) <= ' ') {
+			start++;
+		}
+		while (end > start && (in[end - 1] & 0xFF) <= ' ') {
+			end--;
+		}
+
+		if (start == end || in[start] == DOT) {
+			return fallback(in, offset, length, out, converter);
+		}
+
+		int pos = start;
+		boolean negative = false;
+		byte sign = in[pos];
+		if (sign == '-' || sign == '+') {
+			negative = (sign == '-');
+			pos++;
+		}
+
+		// Validate and parse 8 bytes at a time, every byte must be a digit, a ',' or a '.'.
+		// The digits are taken from the word read, every byte of the number is read once.
+		int precision = converter.precision;
+		long maxTenth = converter.maxDollars / 10;
+		int maxLastDigit = (int) (converter.maxDollars % 10);
+		long dollars = 0;
+		boolean overflow = false;
+		int integerDigits = 0;
+		int cents = 0;
+		int fractionDigits = 0;
+		int roundingDigit = 0;
+		boolean sticky = false;
+		int dot = -1;
+		int commaOffset = -1;
+		for (; pos < end; pos += 8) {
+			int count = Math.min(8, end - pos);
+			long word = load(in, pos, count);
+			long valid = (count == 8) ? HIGH_BITS : HIGH_BITS & ((1L << (count * 8)) - 1);
+			long digits = digitMask(word) & valid;
+
+			// Most words are all digits, the ',' and the '.' are only looked for if they're not.
+			long others = valid & ~digits;
+			if (others != 0) {
+				long commas = equalMask(word, COMMAS) & others;
+				long dots = equalMask(word, DOTS) & others;
+				if ((commas | dots) != others || (dots & (dots - 1)) != 0 || (dots != 0 && dot >= 0)) {
+					// Another character, e.g. an exponent, or a second '.'.
+					return fallback(in, offset, length, out, converter);
+				}
+				if (dots != 0) {
+					dot = pos + (Long.numberOfTrailingZeros(dots) >>> 3);
+				}
+
+				for (; commas != 0; commas &= commas - 1) {
+					// ',' is not allowed at the start or after '.', and all ',' must be 3 digits apart from '.' or another ','.
+					int comma = pos + (Long.numberOfTrailingZeros(commas) >>> 3);
+					int offsetOfComma = (comma - start) & COMMAS_MASK;
+					if (comma == start || (dot >= 0 && comma > dot) || (commaOffset >= 0 && offsetOfComma != commaOffset)) {
+						return fallback(in, offset, length, out, converter);
+					}
+					commaOffset = offsetOfComma;
+				}
+			}
+
+			// Split the digits of the word at the '.'.
+			long integerMask = digits;
+			if (dot >= pos) {
+				integerMask = digits & ((1L << ((dot - pos) * 8)) - 1);
+			} else if (dot >= 0) {
+				integerMask = 0;
+			}
+			long fractionMask = digits & ~integerMask;
+
+			if (integerMask == HIGH_BITS && integerDigits + 8 <= MAX_SAFE_DIGITS) {
+				dollars = dollars * 100000000L + parseEightDigits(word);
+				integerDigits += 8;
+			} else {
+				// The integer part, it's out of the range once it's larger than the maximal value.
+				for (; integerMask != 0; integerMask &= integerMask - 1) {
+					int digit = digitAt(word, integerMask);
+					if (integerDigits < MAX_SAFE_DIGITS) {
+						dollars = dollars * 10 + digit;
+					} else if (!overflow && (dollars > maxTenth || (dollars == maxTenth && digit > maxLastDigit))) {
+						overflow = true;
+					} else if (!overflow) {
+						dollars = dollars * 10 + digit;
+					}
+					integerDigits++;
+				}
+			}
+
+			// The fraction part, keep the digits within the precision and the one deciding the rounding.
+			for (; fractionMask != 0; fractionMask &= fractionMask - 1) {
+				int digit = digitAt(word, fractionMask);
+				if (fractionDigits < precision) {
+					cents += digit * converter.placeValues[fractionDigits];
+				} else if (fractionDigits == precision) {
+					roundingDigit = digit;
+				} else if (digit != 0) {
+					sticky = true;
+				}
+				fractionDigits++;
+			}
+		}
+
+		// There must be at least one digit, and ',' must be a multiple of 3 digits away from '.', or from the end if there is no '.'.
+		int integerEnd = (dot >= 0) ? dot : end;
+		if (integerDigits + fractionDigits == 0 || (commaOffset >= 0 && ((integerEnd - start) & COMMAS_MASK) != commaOffset)) {
+			return fallback(in, offset, length, out, converter);
+		}
+
+		return NumberTextConverter.roundNumber(negative, dollars, overflow, cents, roundingDigit, sticky, out, converter);
+	}
+
+	/**
+	 * Return the digit of the lowest byte in the mask.
+	 * @param word - the bytes read.
+	 * @param mask - the high bits of the digits of the word.
+	 */
+	private static int digitAt(long word, long mask) {
+		return (int) (word >>> (Long.numberOfTrailingZeros(mask) - 7)) & 0xF;
+	}
+
+	/**
+	 * Parse the number with the scanner of NumberTextConverter.
+	 */
+	private static ConversionStatus fallback(byte[] in, int offset, int length, ParsedAmount out, Converter converter) {
+		return NumberTextConverter.tryParse(new AsciiSequence().reset(ByteBuffer.wrap(in), offset, length), out, converter);
+	}
+
+	/**
+	 * Read up to 8 bytes as a long, the first byte in the lowest bits. The bytes after the count may be anything, 
+	 * the callers mask them out.
+	 * @param in - the array.
+	 * @param pos - position of the first byte.
+	 * @param count - number of bytes needed, 1 ~ 8, all 8 bytes are read if the array has them.
+	 */
+	private static long load(byte[] in, int pos, int count) {
+		if (count == 8 || pos + 8 <= in.length) {
+			return (in[pos] & 0xFFL) | (in[pos + 1] & 0xFFL) << 8 | (in[pos + 2] & 0xFFL) << 16 | (in[pos + 3] & 0xFFL) << 24
+					| (in[pos + 4] & 0xFFL) << 32 | (in[pos + 5] & 0xFFL) << 40 | (in[pos + 6] & 0xFFL) << 48 
+					| (long) in[pos + 7] << 56;
+		}
+
+		long word = 0;
+		for (int i = count - 1; i >= 0; i--) {
+			word = (word << 8) | (in[pos + i] & 0xFF);
+		}
+		return word;
+	}
+
+	/**
+	 * Return the high bit of every byte which is '0' ~ '9'.
+	 */
+	static long digitMask(long word) {
+		long low = word & LOW_BITS;
+		// Bytes with the high bit set are not ASCII, they're not digits.
+		return (low + AT_LEAST_ZERO) & ~(low + AT_LEAST_COLON) & ~word & HIGH_BITS;
+	}
+
+	/**
+	 * Return the high bit of every byte which is equal to the byte repeated in the pattern.
+	 */
+	static long equalMask(long word, long pattern) {
+		long difference = word ^ pattern;
+		// The high bit of a byte is set by the addition unless all its lower bits are 0.
+		return ~(((difference & LOW_BITS) + LOW_BITS) | difference | LOW_BITS);
+	}
+
+	/**
+	 * Convert 8 digits to their value, the first digit in the lowest byte being the most significant.
+	 */
+	static long parseEightDigits(long word) {
+		long value = word - ZEROS;
+		// Pairs of digits, then groups of 4, then all 8.
+		value = (value * 10) + (value >>> 8);
+		value = (((value & 0x000000FF000000FFL) * (100 + (1000000L << 32)))
+				+ (((value >>> 16) & 0x000000FF000000FFL) * (1 + (10000L << 32)))) >>> 32;
+		return value;
+	}
+}
@@ -0,0 +1,168 @@
+package com.zhong.projects;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The texts of a batch of amounts, written one after another as UTF-8 bytes into a single direct buffer outside the heap.
+ * The text of every amount is found by its offset and length in the buffer, so a batch of millions of amounts creates
+ * no object per amount, and the garbage collector only sees the buffer and the two int arrays.
+ * A text is only decoded into a String when {@link #getText(int)} is called for it.
+ * The arena is immutable once it's created, and can be read by threads at the same time.
+ * @author
+ *
+ */
+public final class TextArena {
+
+	//Expected number of bytes of a text, used for the first size of the buffer
+	private static final int EXPECTED_TEXT_SIZE = 64;
+
+	//The largest buffer, the offsets are ints
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	//The texts, from 0 to its limit
+	private final ByteBuffer arena;
+
+	private final int[] offsets;
+
+	private final int[] lengths;
+
+	private TextArena(ByteBuffer arena, int[] offsets, int[] lengths) {
+		this.arena = arena;
+		this.offsets = offsets;
+		this.lengths = lengths;
+	}
+
+	/**
+	 * Convert amounts in cents to text, reading them from the position to the limit of the buffer.
+	 * The position of the buffer is not changed.
+	 * @param amountsInCents - the amounts in cents, heap or direct.
+	 * @return the texts of the amounts in the same order.
+	 * @throws IllegalStateException - thrown if the texts are larger than 2 GB, the batch must be split then.
+	 */
+	static TextArena convert(LongBuffer amountsInCents) {
+		int size = amountsInCents.remaining();
+		int first = amountsInCents.position();
+		int[] offsets = new int[size];
+		int[] lengths = new int[size];
+		ByteBuffer arena = ByteBuffer.allocateDirect((int) Math.min(MAX_CAPACITY, Math.max(1024L, (long) size * EXPECTED_TEXT_SIZE)));
+
+		for (int i = 0; i < size; i++) {
+			long cents = amountsInCents.get(first + i);
+			int length = NumberTextConverter.convertCents(cents, arena);
+			if (length < 0) {
+				// The text does not fit, the buffer grows and the text is written again.
+				arena = grow(arena, -length);
+				length = NumberTextConverter.convertCents(cents, arena);
+			}
+
+			offsets[i] = arena.position() - length;
+			lengths[i] = length;
+		}
+
+		arena.flip();
+		return new TextArena(arena.asReadOnlyBuffer(), offsets, lengths);
+	}
+
+	/**
+	 * Copy the texts into a buffer at least twice as large.
+	 * @param arena - the buffer, its position is where the next text is written.
+	 * @param needed - the number of bytes of the next text.
+	 * @return the larger buffer.
+	 */
+	private static ByteBuffer grow(ByteBuffer arena, int needed) {
+		long minimum = (long) arena.position() + needed;
+		if (minimum > MAX_CAPACITY) {
+			throw new IllegalStateException("The texts are larger than " + MAX_CAPACITY + " bytes, the batch must be split.");
+		}
+
+		ByteBuffer larger = ByteBuffer.allocateDirect((int) Math.min(MAX_CAPACITY, Math.max(minimum, 2L * arena.capacity())));
+		arena.flip();
+		larger.put(arena);
+		return larger;
+	}
+
+	/**
+	 * Return the number of texts.
+	 */
+	public int size() {
+		return offsets.length;
+	}
+
+	/**
+	 * Return the position of the first byte of a text in the arena.
+	 * @param index - index of the amount in the batch.
+	 */
+	public int getOffset(int index) {
+		return offsets[index];
+	}
+
+	/**
+	 * Return the number of bytes of a text.
+	 * @param index - index of the amount in the batch.
+	 */
+	public int getLength(int index) {
+		return lengths[index];
+	}
+
+	/**
+	 * Return the total number of bytes of the texts.
+	 */
+	public int getByteSize() {
+		return arena.limit();
+	}
+
+	/**
+	 * Return a read-only view of the arena from 0 to the end of the last text, e.g. to write all texts to a channel.
+	 * Every text is found at {@link #getOffset(int)} with {@link #getLength(int)} bytes, the texts are not separated.
+	 */
+	public ByteBuffer getArena() {
+		return arena.duplicate();
+	}
+
+	/**
+	 * Decode a text into a String.
+	 * @param index - index of the amount in the batch.
+	 * @return the text, the same as {@link NumberTextConverter#convertCents(long)} returns for the amount.
+	 */
+	public String getText(int index) {
+		byte[] bytes = new byte[lengths[index]];
+		copyTo(index, bytes, 0);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Copy the bytes of a text into an array.
+	 * @param index - index of the amount in the batch.
+	 * @param out - the array the bytes are copied into.
+	 * @param offset - the position in the array of the first byte.
+	 * @return the number of bytes copied.
+	 * @throws IndexOutOfBoundsException - thrown if the text does not fit into the array.
+	 */
+	public int copyTo(int index, byte[] out, int offset) {
+		ByteBuffer text = arena.duplicate();
+		text.position(offsets[index]);
+		text.get(out, offset, lengths[index]);
+		return lengths[index];
+	}
+
+	/**
+	 * Copy the bytes of a text into a buffer from its position. Nothing is copied if the text does not fit into
+	 * the remaining bytes of the buffer, as {@link NumberTextConverter#convertCents(long, ByteBuffer)} does.
+	 * @param index - index of the amount in the batch.
+	 * @param out - the buffer the bytes are copied into.
+	 * @return the number of bytes copied, or the negated number of bytes needed if the text does not fit.
+	 */
+	public int copyTo(int index, ByteBuffer out) {
+		int length = lengths[index];
+		if (length > out.remaining()) {
+			return -length;
+		}
+
+		ByteBuffer text = arena.duplicate();
+		text.position(offsets[index]).limit(offsets[index] + length);
+		out.put(text);
+		return length;
+	}
+}
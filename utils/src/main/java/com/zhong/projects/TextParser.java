@@ -0,0 +1,235 @@
+package com.zhong.projects;
+
+/**
+ * Parses the text of an amount back to the number, e.g. "minus one hundred two thousand dollars and five cents" to -102000.05.
+ * The words are looked up in the trie of the vocabulary, every word is read once from left to right and nothing is allocated.
+ * Words are separated by spaces, ',' or the separator between the tens and the units of the vocabulary, and case is ignored.
+ * The plural and singular of the currency words are both accepted.
+ * @author
+ *
+ */
+final class TextParser {
+
+	//The kind of a word is stored in the high bits of its code in the trie, the value in the low bits.
+	private static final int KIND_SHIFT = 16;
+
+	private static final int VALUE_MASK = (1 << KIND_SHIFT) - 1;
+
+	//A number 1 ~ 999, e.g. "one", "twenty" or a single word override
+	static final int NUMBER = 1;
+
+	static final int HUNDRED = 2;
+
+	//A scale, the value is the index of the scale, 1 for thousand
+	static final int SCALE = 3;
+
+	static final int ZERO = 4;
+
+	static final int MINUS = 5;
+
+	//"and" between the integer part and the fraction, or after the hundreds
+	static final int AND = 6;
+
+	static final int INTEGER_CURRENCY = 7;
+
+	static final int DECIMAL_CURRENCY = 8;
+
+	//The value of each scale
+	private static final long[] SCALES_VALUES = {
+			1L,
+			1000L,
+			1000000L,
+			1000000000L,
+			1000000000000L,
+			1000000000000000L,
+			1000000000000000000L
+	};
+
+	private TextParser() {
+	}
+
+	/**
+	 * Return the code of a word in the trie.
+	 */
+	static int code(int kind, int value) {
+		return (kind << KIND_SHIFT) | value;
+	}
+
+	/**
+	 * Parse the text of an amount into the holder.
+	 * @param text - the text of the amount.
+	 * @param vocabulary - the words of the text.
+	 * @param converter - the precision and the range.
+	 * @param out - the holder of the number, its status is set as well.
+	 * @return the status of the text, INVALID_FORMAT if a word is unknown or out of place.
+	 */
+	static ConversionStatus parse(CharSequence text, Vocabulary vocabulary, Converter converter, ParsedAmount out) {
+		ConversionStatus status = (text == null) ? ConversionStatus.EMPTY : scan(text, vocabulary, converter, out);
+
+		if (status != ConversionStatus.OK) {
+			out.reset(status);
+		}
+		return status;
+	}
+
+	private static ConversionStatus scan(CharSequence text, Vocabulary vocabulary, Converter converter, ParsedAmount out) {
+		WordTrie trie = vocabulary.wordTrie();
+		String separators = vocabulary.wordSeparators;
+		long maxDollars = converter.maxDollars;
+		int length = text.length();
+
+		boolean negative = false;
+		boolean hasWords = false;
+		long dollars = -1;
+		int cents = 0;
+
+		// The number being read: the complete scales and the current group of 3 digits
+		long total = 0;
+		int group = 0;
+		boolean hasNumber = false;
+		boolean zero = false;
+		int lastScale = SCALES_VALUES.length;
+		boolean hasHundreds = false;
+		boolean hasTens = false;
+		boolean hasUnits = false;
+		boolean hasCents = false;
+		boolean andAfterDollars = false;
+
+		int pos = 0;
+		while (pos < length) {
+			// Skip the separators and find the end of the word
+			if (isSeparator(text.charAt(pos), separators)) {
+				pos++;
+				continue;
+			}
+			int start = pos;
+			while (pos < length && !isSeparator(text.charAt(pos), separators)) {
+				pos++;
+			}
+
+			int code = trie.find(text, start, pos);
+			if (code == WordTrie.NOT_FOUND || hasCents) {
+				return ConversionStatus.INVALID_FORMAT;
+			}
+			int kind = code >>> KIND_SHIFT;
+			int value = code & VALUE_MASK;
+			boolean first = !hasWords;
+			hasWords = true;
+
+			switch (kind) {
+			case MINUS:
+				if (!first) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				negative = true;
+				break;
+			case ZERO:
+				if (hasNumber || zero) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				zero = true;
+				break;
+			case NUMBER:
+				if (zero) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				if (value >= 100) {
+					// A single word for a number with hundreds
+					if (hasHundreds || hasTens || hasUnits) {
+						return ConversionStatus.INVALID_FORMAT;
+					}
+					hasHundreds = true;
+					hasTens = hasUnits = (value % 100 != 0);
+				} else if (value % 10 == 0 && value >= 20) {
+					if (hasTens || hasUnits) {
+						return ConversionStatus.INVALID_FORMAT;
+					}
+					hasTens = true;
+				} else {
+					// The units may follow the tens, but not a number below 20 with 2 digits
+					if (hasUnits || (hasTens && value >= 10)) {
+						return ConversionStatus.INVALID_FORMAT;
+					}
+					hasUnits = true;
+					hasTens |= (value >= 10);
+				}
+				group += value;
+				hasNumber = true;
+				break;
+			case HUNDRED:
+				if (hasHundreds || hasTens || !hasUnits || group > 9) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				group *= 100;
+				hasHundreds = true;
+				hasUnits = false;
+				break;
+			case SCALE:
+				if (group == 0 || value >= lastScale) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				if (group > (maxDollars - total) / SCALES_VALUES[value]) {
+					return ConversionStatus.OUT_OF_RANGE;
+				}
+				total += group * SCALES_VALUES[value];
+				lastScale = value;
+				group = 0;
+				hasHundreds = hasTens = hasUnits = false;
+				break;
+			case AND:
+				// "and" is skipped after the hundreds or the higher scales and between the integer part and the fraction,
+				// the currency words tell where the integer part ends.
+				if (!hasNumber && (dollars < 0 || andAfterDollars)) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				andAfterDollars |= !hasNumber;
+				break;
+			case INTEGER_CURRENCY:
+				if (dollars >= 0 || !(hasNumber || zero)) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				dollars = total + group;
+				if (dollars > maxDollars) {
+					return ConversionStatus.OUT_OF_RANGE;
+				}
+				total = 0;
+				group = 0;
+				hasNumber = zero = false;
+				lastScale = SCALES_VALUES.length;
+				hasHundreds = hasTens = hasUnits = false;
+				break;
+			case DECIMAL_CURRENCY:
+				if (!hasNumber || total + group >= converter.unitsPerWhole) {
+					return ConversionStatus.INVALID_FORMAT;
+				}
+				cents = (int) (total + group);
+				hasCents = true;
+				hasNumber = false;
+				break;
+			default:
+				return ConversionStatus.INVALID_FORMAT;
+			}
+		}
+
+		if (!hasWords) {
+			return ConversionStatus.EMPTY;
+		}
+
+		// The text must end with a currency word.
+		if (hasNumber || zero || (dollars < 0 && !hasCents) || (andAfterDollars && !hasCents)) {
+			return ConversionStatus.INVALID_FORMAT;
+		}
+		dollars = Math.max(dollars, 0);
+		if (dollars == maxDollars && cents != 0) {
+			return ConversionStatus.OUT_OF_RANGE;
+		}
+
+		// A zero amount is not negative.
+		out.set(negative && (dollars != 0 || cents != 0), dollars, cents, converter.precision);
+		return ConversionStatus.OK;
+	}
+
+	private static boolean isSeparator(char c, String separators) {
+		return c <= ' ' || c == ',' || separators.indexOf(c) >= 0;
+	}
+}
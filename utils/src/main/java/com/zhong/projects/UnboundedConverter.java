@@ -0,0 +1,180 @@
+package com.zhong.projects;
+
+import java.io.IOException;
+
+/**
+ * Converts integers of any size to English text. The scales beyond thousand are named by the Conway-Wechsler system,
+ * i.e., 10^(3n+3) is the n-illion: million, billion, ... decillion, ... centillion, ... millinillion and so on.
+ * The digits are read once from left to right and the text of each group of 3 digits is appended to the output as soon as
+ * it's known, so the time is linear in the length of the text and the text never has to be kept in memory.
+ * @author
+ *
+ */
+final class UnboundedConverter {
+
+	//The prefixes of 1 ~ 9 -illion, e.g. "mi" for million. The prefix of 0 is used for the groups of larger numbers.
+	private static final String[] SMALL_PREFIXES = {
+			"ni", "mi", "bi", "tri", "quadri", "quinti", "sexti", "septi", "octi", "noni"
+	};
+
+	//The units of the prefixes of larger numbers
+	private static final String[] UNIT_PREFIXES = {
+			"", "un", "duo", "tre", "quattuor", "quinqua", "se", "septe", "octo", "nove"
+	};
+
+	private static final String[] TEN_PREFIXES = {
+			"", "deci", "viginti", "triginta", "quadraginta", "quinquaginta", "sexaginta", "septuaginta", "octoginta", "nonaginta"
+	};
+
+	private static final String[] HUNDRED_PREFIXES = {
+			"", "centi", "ducenti", "trecenti", "quadringenti", "quingenti", "sescenti", "septingenti", "octingenti", "nongenti"
+	};
+
+	//The marks of the tens and the hundreds which change the unit before them, e.g. "tres" before "viginti"
+	private static final String[] TEN_MARKS = { "", "n", "ms", "ns", "ns", "ns", "n", "n", "mx", "" };
+
+	private static final String[] HUNDRED_MARKS = { "", "nx", "n", "ns", "ns", "ns", "n", "n", "mx", "" };
+
+	private static final String THOUSAND = "thousand";
+
+	//The number of digits of the numbers which always fit into a long
+	private static final int MAX_LONG_DIGITS = 19;
+
+	private UnboundedConverter() {
+	}
+
+	/**
+	 * Convert an integer given by its digits to text and append it to the output, followed by the currency unit.
+	 * @param input - the digits with an optional sign, spaces on either end are ignored.
+	 * @param vocabulary - the words of the numbers below 1000, zero, minus and the currency.
+	 * @param out - the output the text is appended to.
+	 * @return false if the input is not an integer, nothing is appended in that case.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	static boolean convert(CharSequence input, Vocabulary vocabulary, Appendable out) throws IOException {
+		int start = 0;
+		int end = input.length();
+		while (start < end && input.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && input.charAt(end - 1) <= ' ') {
+			end--;
+		}
+
+		boolean negative = false;
+		if (start < end && (input.charAt(start) == '-' || input.charAt(start) == '+')) {
+			negative = (input.charAt(start) == '-');
+			start++;
+		}
+		if (start == end) {
+			return false;
+		}
+		for (int pos = start; pos < end; pos++) {
+			char c = input.charAt(pos);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+
+		// Leading zeros do not count.
+		while (start < end - 1 && input.charAt(start) == '0') {
+			start++;
+		}
+		if (end - start == 1 && input.charAt(start) == '0') {
+			vocabulary.appendAmount(false, 0, 0, out);
+			return true;
+		}
+
+		if (negative) {
+			out.append(vocabulary.getMinusPrefix());
+		}
+
+		// The first group has 1 ~ 3 digits, the others have 3.
+		int groups = (end - start + 2) / 3;
+		int pos = start;
+		int groupEnd = start + (end - start) - (groups - 1) * 3;
+		for (int scale = groups - 1; scale >= 0; scale--) {
+			int group = 0;
+			for (; pos < groupEnd; pos++) {
+				group = group * 10 + (input.charAt(pos) - '0');
+			}
+			groupEnd += 3;
+
+			// The text of a zero group is empty.
+			if (group != 0) {
+				out.append(vocabulary.getThreeDigits(group)).append(' ');
+				if (scale == 1) {
+					out.append(THOUSAND).append(' ');
+				} else if (scale > 1) {
+					appendIllion(scale - 1, out);
+					out.append(' ');
+				}
+			}
+		}
+
+		// Only small numbers can be singular, larger ones are passed as the largest long.
+		long dollars = (end - start < MAX_LONG_DIGITS) ? Long.parseLong(input.subSequence(start, end).toString()) : Long.MAX_VALUE;
+		out.append(vocabulary.getIntegerCurrency(dollars));
+		return true;
+	}
+
+	/**
+	 * Append the name of 10^(3n+3), e.g. "million" for 1 and "decillion" for 10.
+	 * @param n - the number of the -illion, positive.
+	 * @param out - the output.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	static void appendIllion(long n, Appendable out) throws IOException {
+		// Every group of 3 digits of n gives a prefix, they are joined by "lli", e.g. "milli" "ni" "llion" for 1000.
+		long power = 1;
+		while (power <= n / 1000) {
+			power *= 1000;
+		}
+
+		for (; power > 0; power /= 1000) {
+			appendPrefix((int) (n / power % 1000), out);
+			out.append(power > 1 ? "lli" : "llion");
+		}
+	}
+
+	/**
+	 * Append the prefix of a group 0 ~ 999, which ends with 'i', e.g. "mi" for 1, "tresviginti" for 23.
+	 */
+	private static void appendPrefix(int group, Appendable out) throws IOException {
+		if (group < SMALL_PREFIXES.length) {
+			out.append(SMALL_PREFIXES[group]);
+			return;
+		}
+
+		int units = group % 10;
+		int tens = group / 10 % 10;
+		int hundreds = group / 100;
+
+		// The unit is changed by the marks of the component after it.
+		String marks = (tens > 0) ? TEN_MARKS[tens] : HUNDRED_MARKS[hundreds];
+		out.append(UNIT_PREFIXES[units]);
+		if (units == 3 && (marks.indexOf('s') >= 0 || marks.indexOf('x') >= 0)) {
+			out.append('s');
+		} else if (units == 6 && marks.indexOf('s') >= 0) {
+			out.append('s');
+		} else if (units == 6 && marks.indexOf('x') >= 0) {
+			out.append('x');
+		} else if ((units == 7 || units == 9) && marks.indexOf('m') >= 0) {
+			out.append('m');
+		} else if ((units == 7 || units == 9) && marks.indexOf('n') >= 0) {
+			out.append('n');
+		}
+
+		// The last component ends with 'i' instead of its vowel, e.g. "quadraginti".
+		if (hundreds == 0) {
+			appendLast(TEN_PREFIXES[tens], out);
+		} else {
+			out.append(TEN_PREFIXES[tens]);
+			appendLast(HUNDRED_PREFIXES[hundreds], out);
+		}
+	}
+
+	private static void appendLast(String prefix, Appendable out) throws IOException {
+		out.append(prefix, 0, prefix.length() - 1).append('i');
+	}
+}
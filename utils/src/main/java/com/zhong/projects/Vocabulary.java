@@ -0,0 +1,709 @@
+package com.zhong.projects;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The words of a language used to convert a number to text. The words are loaded from properties, see
+ * vocabulary_en.properties for the keys, and compiled into tables of the text of every group of 3 digits with every scale,
+ * so converting a number only appends precomputed strings no matter which language is used.
+ * An instance is immutable and can be shared by any number of threads.
+ * @author
+ *
+ */
+public final class Vocabulary {
+
+	//The largest number which is converted as one group, i.e., 3 digits
+	private static final int MAX_GROUP_VALUE = 999;
+
+	//The value of each scale. The integer part of any number in the range fits into a long.
+	private static final long[] SCALES_VALUES = {
+			1L,
+			1000L,
+			1000000L,
+			1000000000L,
+			1000000000000L,
+			1000000000000000L,
+			1000000000000000000L
+	};
+
+	//Prefix of the keys of the words which replace the generated text of a number, e.g. "number.100"
+	private static final String NUMBER_PREFIX = "number.";
+
+	//Base name of the resources with the words of each language
+	private static final String RESOURCE_PREFIX = "vocabulary_";
+
+	//Vocabularies already loaded, by locale
+	private static final ConcurrentMap<Locale, Vocabulary> LOADED = new ConcurrentHashMap<>();
+
+	//The words of NumberTextConverter
+	public static final Vocabulary ENGLISH = forLocale(Locale.ENGLISH);
+
+	private final String name;
+
+	//The words the tables are compiled from
+	private final Properties words;
+
+	//Text of every number 0 ~ 999. The text of 0 is empty.
+	private final String[] threeDigits;
+
+	//Text of every number 0 ~ 999 followed by the scale name and a space, indexed by the scale and the number.
+	//The text of 0 is empty for every scale.
+	private final String[][] scaledGroups;
+
+	//Text of every number 1 ~ 99 after the higher groups, e.g. "and five " for "one thousand and five", or null if it's not different.
+	private final String[] lastGroups;
+
+	//The text of a zero amount
+	private final String zeroText;
+
+	//The text before a negative amount
+	private final String minusPrefix;
+
+	//The currency unit after the integer part, e.g. "dollar" and "dollars"
+	private final String integerSingular;
+
+	private final String integerPlural;
+
+	//The text between the integer part and the fraction
+	private final String andInfix;
+
+	//Text of every fraction 1 ~ 999 with its currency unit, e.g. "five cents". Fractions with 3 digits are used for a precision of 3.
+	private final String[] fractions;
+
+	//The smallest amount which uses the plural
+	private final int pluralFrom;
+
+	//The tables above encoded in UTF-8, used to write the text straight into a ByteBuffer. Built on the first use.
+	private volatile EncodedTables encodedTables;
+
+	//Every word mapped to its meaning, used to parse a text back to the number. Built on the first use.
+	private volatile WordTrie wordTrie;
+
+	//The characters besides spaces and ',' which separate the words of a text, e.g. '-' in "twenty-three"
+	final String wordSeparators;
+
+	private Vocabulary(String name, Properties words) {
+		this.name = name;
+		this.words = new Properties();
+		this.words.putAll(words);
+
+		String[] units = list(words, "units", 19);
+		String[] tens = list(words, "tens", 8);
+		String[] scales = list(words, "scales", SCALES_VALUES.length - 1);
+		String tensSeparator = words.getProperty("tens.separator", " ");
+		String hundred = required(words, "hundred");
+		String hundredAnd = words.getProperty("hundred.and", "").trim();
+
+		threeDigits = buildThreeDigits(words, units, tens, tensSeparator, hundred, hundredAnd);
+		scaledGroups = buildScaledGroups(threeDigits, scales);
+		lastGroups = hundredAnd.isEmpty() ? null : buildLastGroups(threeDigits, hundredAnd);
+
+		pluralFrom = Integer.parseInt(words.getProperty("plural.from", "2").trim());
+		integerSingular = required(words, "currency.integer");
+		integerPlural = words.getProperty("currency.integer.plural", integerSingular).trim();
+		String decimalSingular = required(words, "currency.decimal");
+		String decimalPlural = words.getProperty("currency.decimal.plural", decimalSingular).trim();
+
+		zeroText = required(words, "zero") + " " + (0 >= pluralFrom ? integerPlural : integerSingular);
+		minusPrefix = required(words, "minus") + " ";
+		String and = words.getProperty("and", "").trim();
+		andInfix = and.isEmpty() ? " " : " " + and + " ";
+
+		fractions = new String[MAX_GROUP_VALUE + 1];
+		for (int cents = 1; cents <= MAX_GROUP_VALUE; cents++) {
+			fractions[cents] = threeDigits[cents] + " " + (cents >= pluralFrom ? decimalPlural : decimalSingular);
+		}
+
+		wordSeparators = tensSeparator.trim();
+	}
+
+	/**
+	 * Return the tables encoded in UTF-8, they're built on the first call. Most programs only write Strings, 
+	 * so they do not pay for the tables at startup.
+	 */
+	private EncodedTables encodedTables() {
+		EncodedTables tables = encodedTables;
+		if (tables == null) {
+			// Threads calling it at the same time may build the tables more than once, every copy is the same.
+			tables = new EncodedTables(this);
+			encodedTables = tables;
+		}
+		return tables;
+	}
+
+	/**
+	 * Return every word mapped to its meaning, it's built on the first call as only parsing a text needs it.
+	 */
+	WordTrie wordTrie() {
+		WordTrie trie = wordTrie;
+		if (trie == null) {
+			trie = buildWordTrie();
+			wordTrie = trie;
+		}
+		return trie;
+	}
+
+	private WordTrie buildWordTrie() {
+		String[] units = list(words, "units", 19);
+		String[] tens = list(words, "tens", 8);
+		String[] scales = list(words, "scales", SCALES_VALUES.length - 1);
+		String hundred = required(words, "hundred");
+		String hundredAnd = words.getProperty("hundred.and", "").trim();
+		String and = words.getProperty("and", "").trim();
+		String decimalSingular = required(words, "currency.decimal");
+		String decimalPlural = words.getProperty("currency.decimal.plural", decimalSingular).trim();
+
+		WordTrie.Builder trie = new WordTrie.Builder();
+		for (int number = 1; number < 20; number++) {
+			trie.add(units[number - 1], TextParser.code(TextParser.NUMBER, number));
+		}
+		for (int number = 20; number < 100; number += 10) {
+			trie.add(tens[number / 10 - 2], TextParser.code(TextParser.NUMBER, number));
+		}
+		// Overrides of single words, e.g. "dozen". Overrides of several words can not be parsed.
+		String[] overrides = overrides(words);
+		for (int number = 1; number <= MAX_GROUP_VALUE; number++) {
+			if (overrides[number] != null && isSingleWord(overrides[number])) {
+				trie.add(overrides[number], TextParser.code(TextParser.NUMBER, number));
+			}
+		}
+		trie.add(hundred, TextParser.code(TextParser.HUNDRED, 0));
+		for (int unitIndex = 1; unitIndex < SCALES_VALUES.length; unitIndex++) {
+			trie.add(scales[unitIndex - 1], TextParser.code(TextParser.SCALE, unitIndex));
+		}
+		trie.add(required(words, "zero"), TextParser.code(TextParser.ZERO, 0));
+		trie.add(required(words, "minus"), TextParser.code(TextParser.MINUS, 0));
+		trie.add(and, TextParser.code(TextParser.AND, 0));
+		trie.add(hundredAnd, TextParser.code(TextParser.AND, 0));
+		trie.add(integerSingular, TextParser.code(TextParser.INTEGER_CURRENCY, 0));
+		trie.add(integerPlural, TextParser.code(TextParser.INTEGER_CURRENCY, 0));
+		trie.add(decimalSingular, TextParser.code(TextParser.DECIMAL_CURRENCY, 0));
+		trie.add(decimalPlural, TextParser.code(TextParser.DECIMAL_CURRENCY, 0));
+		return trie.build();
+	}
+
+	/**
+	 * Return the words of the given locale. The words of the language are loaded from vocabulary_&lt;language&gt;.properties
+	 * and the ones of the country, if any, from vocabulary_&lt;language&gt;_&lt;country&gt;.properties.
+	 * Every locale is loaded once, later calls return the same instance. A country without its own words shares the
+	 * instance of the language.
+	 * @param locale - the locale, only its language and country are used.
+	 * @return the words of the locale.
+	 * @throws MissingResourceException - thrown if there are no words for the language.
+	 */
+	public static Vocabulary forLocale(Locale locale) {
+		Locale key = new Locale(locale.getLanguage(), locale.getCountry());
+		Vocabulary vocabulary = LOADED.get(key);
+		if (vocabulary == null) {
+			vocabulary = load(key);
+			Vocabulary loaded = LOADED.putIfAbsent(key, vocabulary);
+			if (loaded != null) {
+				vocabulary = loaded;
+			}
+		}
+		return vocabulary;
+	}
+
+	/**
+	 * Compile the given words into a vocabulary, e.g. for a language without resources.
+	 * The keys are the same as the ones of vocabulary_en.properties.
+	 * @param name - the name of the vocabulary.
+	 * @param words - the words.
+	 * @return the compiled vocabulary.
+	 * @throws IllegalArgumentException - thrown if a word is missing.
+	 */
+	public static Vocabulary fromProperties(String name, Properties words) {
+		return new Vocabulary(name, words);
+	}
+
+	/**
+	 * Return a copy of this vocabulary with other currency words, e.g. "euro", "euros", "cent", "cents".
+	 * @param integer - the unit of the integer part.
+	 * @param integerPlural - the plural of the unit of the integer part.
+	 * @param decimal - the unit of the fraction.
+	 * @param decimalPlural - the plural of the unit of the fraction.
+	 * @return the compiled vocabulary.
+	 * @throws IllegalArgumentException - thrown if a word is missing.
+	 */
+	public Vocabulary withCurrency(String integer, String integerPlural, String decimal, String decimalPlural) {
+		if (integer == null || integerPlural == null || decimal == null || decimalPlural == null) {
+			throw new IllegalArgumentException("A currency word is missing");
+		}
+
+		Properties currencyWords = new Properties();
+		currencyWords.putAll(words);
+		currencyWords.setProperty("currency.integer", integer);
+		currencyWords.setProperty("currency.integer.plural", integerPlural);
+		currencyWords.setProperty("currency.decimal", decimal);
+		currencyWords.setProperty("currency.decimal.plural", decimalPlural);
+
+		return new Vocabulary(name + "-" + integer, currencyWords);
+	}
+
+	/**
+	 * Return the name of the vocabulary, e.g. the locale it's loaded for.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Return the text of a number with no more than 3 digits, the text of 0 is empty.
+	 * @param number - the number 0 ~ 999.
+	 */
+	public String getThreeDigits(int number) {
+		return threeDigits[number];
+	}
+
+	/**
+	 * The text before a negative amount, e.g. "minus ".
+	 */
+	String getMinusPrefix() {
+		return minusPrefix;
+	}
+
+	/**
+	 * The currency unit after the integer part of the given amount, e.g. "dollar" or "dollars".
+	 */
+	String getIntegerCurrency(long dollars) {
+		return dollars >= pluralFrom ? integerPlural : integerSingular;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	/**
+	 * Convert a number which is already split into its sign, integer part and fraction part to text,
+	 * and append the text to the output. The text is written from left to right, nothing is inserted.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number in units of the precision, e.g. 0 ~ 99 cents.
+	 * @param out - the output the text is appended to.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	void appendAmount(boolean negative, long dollars, int cents, Appendable out) throws IOException {
+		// Generate the text if the amount is zero
+		if (dollars == 0 && cents == 0) {
+			out.append(zeroText);
+			return;
+		}
+
+		// Prepend "minus" if needed.
+		if (negative) {
+			out.append(minusPrefix);
+		}
+
+		// Convert the integer part if it's not zero
+		if (dollars > 0) {
+			// Convert the number 3 digits in each iteration, starting from the highest scale
+			for (int unitIndex = SCALES_VALUES.length - 1; unitIndex > 0; unitIndex--) {
+				int group = (int) (dollars / SCALES_VALUES[unitIndex] % 1000);
+
+				// The text of a zero group is empty, e.g. the thousands of 1,000,001.
+				out.append(scaledGroups[unitIndex][group]);
+			}
+		}
+
+		appendTail(dollars, cents, out);
+	}
+
+	/**
+	 * Append the text which follows the groups of the thousands and the larger scales: the group below 1000, the currency unit
+	 * and the fraction. The amount is not zero.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number in units of the precision, e.g. 0 ~ 99 cents.
+	 * @param out - the output the text is appended to.
+	 * @throws IOException - thrown if the output can not be written.
+	 */
+	void appendTail(long dollars, int cents, Appendable out) throws IOException {
+		if (dollars > 0) {
+			int group = (int) (dollars % 1000);
+			if (lastGroups != null && dollars > MAX_GROUP_VALUE && group > 0 && group < 100) {
+				out.append(lastGroups[group]);
+			} else {
+				out.append(scaledGroups[0][group]);
+			}
+
+			// Add the currency unit
+			out.append(dollars >= pluralFrom ? integerPlural : integerSingular);
+		}
+
+		// Append the fraction if it exists.
+		if (cents != 0) {
+			// Append "and" if the number has both integer and fraction parts.
+			if (dollars > 0) {
+				out.append(andInfix);
+			}
+
+			out.append(fractions[cents]);
+		}
+	}
+
+	/**
+	 * Return the number of scales of the integer part, the scale of the group below 1000 is 0.
+	 */
+	static int getScaleCount() {
+		return SCALES_VALUES.length;
+	}
+
+	/**
+	 * Return the text of a group of 3 digits followed by the name of its scale and a space, e.g. "twenty three thousand ".
+	 * The text of 0 is empty.
+	 * @param unitIndex - the scale, 1 for thousand.
+	 * @param group - the group 0 ~ 999.
+	 */
+	String getScaledGroup(int unitIndex, int group) {
+		return scaledGroups[unitIndex][group];
+	}
+
+	/**
+	 * The text of a zero amount.
+	 */
+	String getZeroText() {
+		return zeroText;
+	}
+
+	/**
+	 * Return the number of characters of the text of a number without building the text. It takes the same steps as 
+	 * {@link #appendAmount(boolean, long, int, Appendable)} and only adds the lengths of the words, so the text can be 
+	 * written into a buffer of the exact size, or laid out before it's converted.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number in units of the precision, e.g. 0 ~ 99 cents.
+	 * @return the length of the text.
+	 */
+	int textLength(boolean negative, long dollars, int cents) {
+		if (dollars == 0 && cents == 0) {
+			return zeroText.length();
+		}
+
+		int length = negative ? minusPrefix.length() : 0;
+		if (dollars > 0) {
+			for (int unitIndex = SCALES_VALUES.length - 1; unitIndex > 0; unitIndex--) {
+				int group = (int) (dollars / SCALES_VALUES[unitIndex] % 1000);
+				length += scaledGroups[unitIndex][group].length();
+			}
+
+			int group = (int) (dollars % 1000);
+			if (lastGroups != null && dollars > MAX_GROUP_VALUE && group > 0 && group < 100) {
+				length += lastGroups[group].length();
+			} else {
+				length += scaledGroups[0][group].length();
+			}
+			length += (dollars >= pluralFrom ? integerPlural : integerSingular).length();
+		}
+
+		if (cents != 0) {
+			if (dollars > 0) {
+				length += andInfix.length();
+			}
+			length += fractions[cents].length();
+		}
+
+		return length;
+	}
+
+	/**
+	 * Convert a number which is already split into its sign, integer part and fraction part to text, and write the text 
+	 * encoded in UTF-8 into the buffer from its position. Nothing is allocated, the bytes of every word are encoded in advance.
+	 * Nothing is written if the text does not fit into the remaining bytes of the buffer.
+	 * @param negative - true if the number is negative.
+	 * @param dollars - the integer part of the number, not negative.
+	 * @param cents - the fraction part of the number in units of the precision, e.g. 0 ~ 99 cents.
+	 * @param out - the buffer the text is written into.
+	 * @return the number of bytes written, or the negated number of bytes needed if the text does not fit.
+	 */
+	int encodeAmount(boolean negative, long dollars, int cents, ByteBuffer out) {
+		EncodedTables tables = encodedTables();
+		int length = tables.writeAmount(negative, dollars, cents, null);
+		if (length > out.remaining()) {
+			return -length;
+		}
+
+		tables.writeAmount(negative, dollars, cents, out);
+		return length;
+	}
+
+	private static int put(byte[] bytes, ByteBuffer out) {
+		if (out != null) {
+			out.put(bytes);
+		}
+		return bytes.length;
+	}
+
+	private static byte[] encode(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[][] encode(String[] texts) {
+		byte[][] bytes = new byte[texts.length][];
+		for (int i = 0; i < texts.length; i++) {
+			// The fractions have no text for 0.
+			bytes[i] = (texts[i] == null) ? new byte[0] : encode(texts[i]);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Load the words of a locale from the resources.
+	 */
+	private static Vocabulary load(Locale locale) {
+		if (!locale.getCountry().isEmpty()
+				&& Vocabulary.class.getResource(RESOURCE_PREFIX + locale + ".properties") == null) {
+			return forLocale(new Locale(locale.getLanguage()));
+		}
+
+		Properties words = new Properties();
+		if (!loadResource(RESOURCE_PREFIX + locale.getLanguage(), words)) {
+			throw new MissingResourceException("There are no words for " + locale, Vocabulary.class.getName(),
+					                           RESOURCE_PREFIX + locale.getLanguage());
+		}
+		if (!locale.getCountry().isEmpty()) {
+			loadResource(RESOURCE_PREFIX + locale, words);
+		}
+
+		return new Vocabulary(locale.toString(), words);
+	}
+
+	/**
+	 * Load a properties resource next to this class, the words of the resource replace the ones which are already loaded.
+	 * @return false if there is no such resource.
+	 */
+	private static boolean loadResource(String baseName, Properties words) {
+		try (InputStream in = Vocabulary.class.getResourceAsStream(baseName + ".properties")) {
+			if (in == null) {
+				return false;
+			}
+			try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+				words.load(reader);
+			}
+			return true;
+		} catch (IOException e) {
+			throw new IllegalStateException("The words can not be loaded from " + baseName, e);
+		}
+	}
+
+	/**
+	 * Return whether the text is one word, i.e., it has no space, ',' or separator between the tens and the units.
+	 */
+	private boolean isSingleWord(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c <= ' ' || c == ',' || wordSeparators.indexOf(c) >= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String required(Properties words, String key) {
+		String word = words.getProperty(key);
+		if (word == null || word.trim().isEmpty()) {
+			throw new IllegalArgumentException("The word is missing: " + key);
+		}
+		return word.trim();
+	}
+
+	private static String[] list(Properties words, String key, int size) {
+		String[] list = required(words, key).split(",");
+		if (list.length != size) {
+			throw new IllegalArgumentException("There should be " + size + " words for " + key + ": " + list.length);
+		}
+		for (int i = 0; i < list.length; i++) {
+			list[i] = list[i].trim();
+		}
+		return list;
+	}
+
+	/**
+	 * Return the words of the numbers which are given by a "number.&lt;n&gt;" key, indexed by the number, the others are null.
+	 * The keys are looked for once instead of looking up 1000 keys.
+	 */
+	private static String[] overrides(Properties words) {
+		String[] overrides = new String[MAX_GROUP_VALUE + 1];
+		for (String key : words.stringPropertyNames()) {
+			if (key.startsWith(NUMBER_PREFIX)) {
+				try {
+					int number = Integer.parseInt(key.substring(NUMBER_PREFIX.length()));
+					if (number > 0 && number <= MAX_GROUP_VALUE) {
+						overrides[number] = words.getProperty(key).trim();
+					}
+				} catch (NumberFormatException e) {
+					// Not a number, the key is ignored as before.
+				}
+			}
+		}
+		return overrides;
+	}
+
+	/**
+	 * Build the text of every number with no more than three digits.
+	 * @return the text of the numbers 0 ~ 999, indexed by the number.
+	 */
+	private static String[] buildThreeDigits(Properties words, String[] units, String[] tens, String tensSeparator,
+			                                 String hundred, String hundredAnd) {
+		String[] strings = new String[MAX_GROUP_VALUE + 1];
+		strings[0] = "";
+		String[] overrides = overrides(words);
+
+		// The numbers below 100 first, they are used by the larger ones.
+		for (int number = 1; number < 100; number++) {
+			String override = overrides[number];
+			if (override != null) {
+				strings[number] = override;
+			} else if (number < 20) {
+				strings[number] = units[number - 1];
+			} else if (number % 10 == 0) {
+				strings[number] = tens[number / 10 - 2];
+			} else {
+				strings[number] = tens[number / 10 - 2] + tensSeparator + units[number % 10 - 1];
+			}
+		}
+
+		for (int number = 100; number <= MAX_GROUP_VALUE; number++) {
+			String override = overrides[number];
+			if (override != null) {
+				strings[number] = override;
+				continue;
+			}
+
+			StringBuilder stringB = new StringBuilder();
+			stringB.append(strings[number / 100]).append(' ').append(hundred).append(' ');
+			if (number % 100 != 0 && !hundredAnd.isEmpty()) {
+				stringB.append(hundredAnd).append(' ');
+			}
+			strings[number] = stringB.append(strings[number % 100]).toString();
+		}
+
+		return strings;
+	}
+
+	/**
+	 * Build the text of every number with no more than three digits followed by every scale name.
+	 * @return the text indexed by the scale and the number.
+	 */
+	private static String[][] buildScaledGroups(String[] threeDigits, String[] scales) {
+		String[][] strings = new String[SCALES_VALUES.length][MAX_GROUP_VALUE + 1];
+
+		for (int unitIndex = 0; unitIndex < SCALES_VALUES.length; unitIndex++) {
+			// Zero groups are skipped in the text.
+			strings[unitIndex][0] = "";
+			String scale = (unitIndex == 0) ? "" : " " + scales[unitIndex - 1];
+
+			for (int number = 1; number <= MAX_GROUP_VALUE; number++) {
+				strings[unitIndex][number] = threeDigits[number] + scale + " ";
+			}
+		}
+
+		return strings;
+	}
+
+	/**
+	 * Build the text of every number 1 ~ 99 when it follows higher groups, e.g. "and five ".
+	 */
+	private static String[] buildLastGroups(String[] threeDigits, String hundredAnd) {
+		String[] strings = new String[100];
+
+		for (int number = 1; number < 100; number++) {
+			strings[number] = hundredAnd + " " + threeDigits[number] + " ";
+		}
+
+		return strings;
+	}
+
+	/**
+	 * The texts of a vocabulary encoded in UTF-8.
+	 */
+	private static final class EncodedTables {
+		//The smallest amount which uses the plural
+		private final int pluralFrom;
+
+		private final byte[][][] scaledGroups;
+
+		private final byte[][] lastGroups;
+
+		private final byte[] zero;
+
+		private final byte[] minus;
+
+		private final byte[] integerSingular;
+
+		private final byte[] integerPlural;
+
+		private final byte[] and;
+
+		private final byte[][] fractions;
+
+		EncodedTables(Vocabulary vocabulary) {
+			pluralFrom = vocabulary.pluralFrom;
+			scaledGroups = new byte[vocabulary.scaledGroups.length][][];
+			for (int unitIndex = 0; unitIndex < scaledGroups.length; unitIndex++) {
+				scaledGroups[unitIndex] = encode(vocabulary.scaledGroups[unitIndex]);
+			}
+			lastGroups = (vocabulary.lastGroups == null) ? null : encode(vocabulary.lastGroups);
+			zero = encode(vocabulary.zeroText);
+			minus = encode(vocabulary.minusPrefix);
+			integerSingular = encode(vocabulary.integerSingular);
+			integerPlural = encode(vocabulary.integerPlural);
+			and = encode(vocabulary.andInfix);
+			fractions = encode(vocabulary.fractions);
+		}
+
+		/**
+		 * Write the encoded text of a number into the buffer, or only count its bytes if the buffer is null.
+		 * @return the number of bytes of the text.
+		 */
+		int writeAmount(boolean negative, long dollars, int cents, ByteBuffer out) {
+			// Generate the text if the amount is zero
+			if (dollars == 0 && cents == 0) {
+				return put(zero, out);
+			}
+
+			int length = 0;
+
+			// Prepend "minus" if needed.
+			if (negative) {
+				length += put(minus, out);
+			}
+
+			// Convert the integer part if it's not zero
+			if (dollars > 0) {
+				for (int unitIndex = SCALES_VALUES.length - 1; unitIndex > 0; unitIndex--) {
+					int group = (int) (dollars / SCALES_VALUES[unitIndex] % 1000);
+					length += put(scaledGroups[unitIndex][group], out);
+				}
+
+				int group = (int) (dollars % 1000);
+				if (lastGroups != null && dollars > MAX_GROUP_VALUE && group > 0 && group < 100) {
+					length += put(lastGroups[group], out);
+				} else {
+					length += put(scaledGroups[0][group], out);
+				}
+
+				length += put(dollars >= pluralFrom ? integerPlural : integerSingular, out);
+			}
+
+			// Append the fraction if it exists.
+			if (cents != 0) {
+				if (dollars > 0) {
+					length += put(and, out);
+				}
+				length += put(fractions[cents], out);
+			}
+
+			return length;
+		}
+	}
+}
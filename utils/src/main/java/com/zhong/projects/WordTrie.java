@@ -0,0 +1,135 @@
+package com.zhong.projects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A trie of the words of a vocabulary, each word is mapped to a code. It finds the word in a range of a CharSequence
+ * character by character, without creating a String for the word or comparing whole strings.
+ * The edges of every node are stored in sorted arrays, so the trie is immutable once it's compiled and can be shared by threads.
+ * Words are matched ignoring case.
+ * @author
+ *
+ */
+final class WordTrie {
+
+	//The code returned if the word is not in the trie
+	static final int NOT_FOUND = -1;
+
+	//The characters of the edges of every node, sorted
+	private final char[][] edges;
+
+	//The node each edge leads to, in the order of the edges
+	private final int[][] targets;
+
+	//The code of the word ending at every node, or NOT_FOUND
+	private final int[] codes;
+
+	private WordTrie(char[][] edges, int[][] targets, int[] codes) {
+		this.edges = edges;
+		this.targets = targets;
+		this.codes = codes;
+	}
+
+	/**
+	 * Find the code of the word in the given range.
+	 * @param text - the text holding the word.
+	 * @param start - position of the first character of the word.
+	 * @param end - position after the last character of the word.
+	 * @return the code of the word, or NOT_FOUND.
+	 */
+	int find(CharSequence text, int start, int end) {
+		int node = 0;
+
+		for (int pos = start; pos < end; pos++) {
+			char c = Character.toLowerCase(text.charAt(pos));
+			char[] nodeEdges = edges[node];
+
+			// Nodes rarely have more than a few edges, a linear search beats a binary search for them.
+			int edge = 0;
+			while (edge < nodeEdges.length && nodeEdges[edge] < c) {
+				edge++;
+			}
+			if (edge == nodeEdges.length || nodeEdges[edge] != c) {
+				return NOT_FOUND;
+			}
+			node = targets[node][edge];
+		}
+
+		return codes[node];
+	}
+
+	/**
+	 * Collects the words and compiles them into a trie.
+	 */
+	static final class Builder {
+
+		private final List<Map<Character, Integer>> children = new ArrayList<>();
+
+		private final List<Integer> codes = new ArrayList<>();
+
+		Builder() {
+			addNode();
+		}
+
+		/**
+		 * Add a word, it replaces the code of the same word added before. Empty words are ignored.
+		 * @param word - the word.
+		 * @param code - the code of the word, not negative.
+		 * @return this builder.
+		 */
+		Builder add(String word, int code) {
+			if (word.isEmpty()) {
+				return this;
+			}
+
+			int node = 0;
+			for (int i = 0; i < word.length(); i++) {
+				char c = Character.toLowerCase(word.charAt(i));
+				Integer child = children.get(node).get(c);
+				if (child == null) {
+					child = addNode();
+					children.get(node).put(c, child);
+				}
+				node = child;
+			}
+			codes.set(node, code);
+
+			return this;
+		}
+
+		private int addNode() {
+			children.add(new TreeMap<Character, Integer>());
+			codes.add(NOT_FOUND);
+			return children.size() - 1;
+		}
+
+		/**
+		 * Compile the words into an immutable trie.
+		 */
+		WordTrie build() {
+			int size = children.size();
+			char[][] edges = new char[size][];
+			int[][] targets = new int[size][];
+			int[] nodeCodes = new int[size];
+
+			for (int node = 0; node < size; node++) {
+				Map<Character, Integer> nodeChildren = children.get(node);
+				edges[node] = new char[nodeChildren.size()];
+				targets[node] = new int[nodeChildren.size()];
+
+				int edge = 0;
+				for (Map.Entry<Character, Integer> child : nodeChildren.entrySet()) {
+					edges[node][edge] = child.getKey();
+					targets[node][edge] = child.getValue();
+					edge++;
+				}
+				nodeCodes[node] = codes.get(node);
+			}
+
+			return new WordTrie(edges, targets, nodeCodes);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.zhong.projects.CachingConverter;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the caching converter")
+class TestCachingConverter {
+
+	@Test
+	@DisplayName("Different representations of an amount share one entry")
+	void testNormalizedKey() throws Exception {
+		CachingConverter cache = new CachingConverter(100);
+
+		String text = cache.convert("1,000.00");
+		assertSame(text, cache.convert("1000"));
+		assertSame(text, cache.convert(1000.0d));
+		assertSame(text, cache.convertCents(100000L));
+		assertEquals(NumberTextConverter.convert("1000"), text);
+
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(3, cache.getHitCount());
+		assertEquals(0.75, cache.getHitRate());
+	}
+
+	@Test
+	@DisplayName("The least recently used entries are evicted")
+	void testEviction() {
+		CachingConverter cache = new CachingConverter(16 * 4);
+
+		for (long cents = 0; cents < 1000; cents++) {
+			assertEquals(NumberTextConverter.convertCents(cents), cache.convertCents(cents));
+		}
+
+		assertTrue(cache.size() <= 16 * 4);
+		assertEquals(1000 - cache.size(), cache.getEvictionCount());
+	}
+
+	@Test
+	@DisplayName("A cache smaller than its segments holds at most its maximal number of entries")
+	void testSmallCache() {
+		for (int maximumEntries : new int[] { 1, 3, 10, 17, 30 }) {
+			CachingConverter cache = new CachingConverter(maximumEntries);
+			for (long cents = 0; cents < 1000; cents++) {
+				cache.convertCents(cents);
+			}
+
+			assertEquals(maximumEntries, cache.size(), "Maximum: " + maximumEntries);
+			assertEquals(1000 - maximumEntries, cache.getEvictionCount(), "Maximum: " + maximumEntries);
+		}
+	}
+
+	@Test
+	@DisplayName("The size in bytes is respected")
+	void testMaximumBytes() {
+		CachingConverter cache = CachingConverter.withMaximumBytes(16 * 1024);
+
+		for (long cents = 0; cents < 100000; cents += 7) {
+			cache.convertCents(cents);
+		}
+
+		// An entry takes more than 100 bytes.
+		assertTrue(cache.size() < 16 * 1024 / 100);
+		assertTrue(cache.getEvictionCount() > 0);
+	}
+
+	@Test
+	@DisplayName("A small size in bytes is respected")
+	void testSmallMaximumBytes() {
+		for (int maximumBytes : new int[] { 1, 100, 500, 1000, 2000 }) {
+			CachingConverter cache = CachingConverter.withMaximumBytes(maximumBytes);
+			for (long cents = 0; cents < 1000; cents++) {
+				assertEquals(NumberTextConverter.convertCents(cents), cache.convertCents(cents));
+			}
+
+			// An entry takes more than 100 bytes, but a segment can hold one if the cache has room for a few.
+			assertTrue(cache.size() <= maximumBytes / 100, "Maximum: " + maximumBytes);
+			assertTrue(maximumBytes < 500 || cache.size() > 0, "Maximum: " + maximumBytes);
+			assertEquals(1000 - cache.size(), cache.getEvictionCount(), "Maximum: " + maximumBytes);
+		}
+	}
+
+	@Test
+	@DisplayName("Null, empty, invalid and huge amounts are handled as by the converter")
+	void testUncachedInputs() throws Exception {
+		CachingConverter cache = new CachingConverter(100);
+
+		assertEquals("", cache.convert((String) null));
+		assertEquals("", cache.convert(" "));
+		assertThrows(NumberFormatException.class, () -> cache.convert("74,56,123"));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class, () -> cache.convert("1000000000000000001"));
+		assertEquals(NumberTextConverter.convert("-999999999999999999.99"), cache.convert("-999999999999999999.99"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	@DisplayName("The cache can be shared by threads")
+	void testConcurrentAccess() throws Exception {
+		CachingConverter cache = new CachingConverter(500);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					for (long cents = -5000; cents < 5000; cents++) {
+						if (!NumberTextConverter.convertCents(cents % 700).equals(cache.convertCents(cents % 700))) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+
+			for (Future<Boolean> future : futures) {
+				assertTrue(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(4 * 10000, cache.getHitCount() + cache.getMissCount());
+	}
+}
@@ -0,0 +1,88 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.zhong.projects.CommandLineConverter;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the command line converter")
+class TestCommandLineConverter {
+
+	private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+	private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+	@Test
+	@DisplayName("Every line gets the amount, the text and the error column in the order of the input")
+	void testStandardInput() throws Exception {
+		String input = "1\r\n12a\n\n-7,456,123.46\n0.5";
+		String expected = "1;one dollar;\n12a;;INVALID_FORMAT\n;;\n-7,456,123.46;" + NumberTextConverter.convert("-7,456,123.46")
+				+ ";\n0.5;fifty cents;\n";
+
+		assertEquals(0, run(input, "-d", ";", "-e", "-q"));
+		assertEquals(expected, stdout.toString("ISO-8859-1"));
+		assertEquals("", stderr.toString("ISO-8859-1"));
+	}
+
+	@Test
+	@DisplayName("Many blocks of a file are converted in order and the throughput is reported")
+	void testFile() throws Exception {
+		StringBuilder input = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 200000; i++) {
+			String amount = (i % 1000 == 999) ? "x" + i : (i - 100000) + "." + (i % 100);
+			input.append(amount).append('\n');
+			String text = NumberTextConverter.tryConvert(amount).getText();
+			expected.append(amount).append('\t').append(text == null ? "" : text).append('\n');
+		}
+
+		Path file = Files.createTempFile("amounts", ".txt");
+		try {
+			Files.write(file, input.toString().getBytes(StandardCharsets.ISO_8859_1));
+			assertEquals(0, run("", "-t", "3", file.toString()));
+		} finally {
+			Files.delete(file);
+		}
+		assertEquals(expected.toString(), stdout.toString("ISO-8859-1"));
+		assertTrue(stderr.toString("ISO-8859-1").startsWith("200000 lines, 200 rejected"), stderr.toString("ISO-8859-1"));
+	}
+
+	@Test
+	@DisplayName("A line longer than a block is rejected without being held in memory")
+	void testLongLine() throws Exception {
+		StringBuilder longLine = new StringBuilder();
+		for (int i = 0; i < 3 * 1024 * 1024; i++) {
+			longLine.append((char) ('0' + i % 10));
+		}
+		String echo = longLine.substring(0, 64);
+
+		assertEquals(0, run("1\n" + longLine + "\n2\n" + longLine, "-e", "-q"));
+		assertEquals("1\tone dollar\t\n" + echo + "\t\tINVALID_FORMAT\n2\ttwo dollars\t\n" + echo + "\t\tINVALID_FORMAT\n", 
+				stdout.toString("ISO-8859-1"));
+	}
+
+	@Test
+	@DisplayName("Wrong arguments and missing files are reported")
+	void testErrors() throws Exception {
+		assertEquals(2, run("", "-x"));
+		assertEquals(2, run("", "-t", "0"));
+		assertEquals(1, run("", "-q", "no-such-file.txt"));
+	}
+
+	private int run(String input, String... args) throws IOException {
+		try (PrintStream err = new PrintStream(stderr, true, "ISO-8859-1")) {
+			return CommandLineConverter.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.ISO_8859_1)), stdout, err);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import com.zhong.projects.ConversionServer;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the HTTP conversion server with a loopback client")
+class TestConversionServer {
+
+	private final static String[] BATCH = {
+			"1", "1,234.56", "", "12a", "-0.01", "1000000000000000000.01"
+	};
+
+	private static ConversionServer server;
+
+	@BeforeAll
+	static void startServer() throws IOException {
+		server = ConversionServer.start(0);
+	}
+
+	@AfterAll
+	static void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	@DisplayName("A single amount is converted, an invalid one gets its status with 400")
+	void testConvert() throws Exception {
+		for (String amount : new String[] { "1,234.56", "+7", "0.5" }) {
+			HttpURLConnection connection = open(ConversionServer.CONVERT_PATH + "?amount=" + URLEncoder.encode(amount, "UTF-8"));
+			assertEquals(200, connection.getResponseCode());
+			assertEquals(NumberTextConverter.convert(amount), read(connection.getInputStream()));
+		}
+
+		HttpURLConnection connection = open(ConversionServer.CONVERT_PATH + "?amount=1.2.3");
+		assertEquals(400, connection.getResponseCode());
+		assertEquals("INVALID_FORMAT", read(connection.getErrorStream()));
+
+		assertEquals(400, open(ConversionServer.CONVERT_PATH).getResponseCode());
+	}
+
+	@Test
+	@DisplayName("A batch gets one line per amount in the same order")
+	void testBatch() throws Exception {
+		StringBuilder body = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (String amount : BATCH) {
+			body.append(amount).append('\n');
+			String text = NumberTextConverter.tryConvert(amount).getText();
+			expected.append(text == null ? "!" + NumberTextConverter.tryConvert(amount).getStatus() : text).append('\n');
+		}
+
+		HttpURLConnection connection = open(ConversionServer.BATCH_PATH);
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		connection.setChunkedStreamingMode(0);
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(body.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		assertEquals(200, connection.getResponseCode());
+		assertEquals(expected.toString(), read(connection.getInputStream()));
+
+		assertEquals(405, open(ConversionServer.BATCH_PATH).getResponseCode());
+	}
+
+	@Test
+	@DisplayName("The server counts its requests and amounts")
+	void testStats() throws Exception {
+		long requests = server.getStats().getRequests();
+		for (int i = 0; i < 10; i++) {
+			read(open(ConversionServer.CONVERT_PATH + "?amount=" + i).getInputStream());
+		}
+		assertTrue(server.getStats().getRequests() >= requests + 10);
+		assertTrue(server.getStats().getAmounts() >= 10);
+		assertTrue(server.getStats().getLatencyPercentileNanos(0.99) > 0);
+
+		String stats = read(open(ConversionServer.STATS_PATH).getInputStream());
+		assertTrue(stats.startsWith("requests="), stats);
+		assertTrue(stats.contains("\nlatencyP99Nanos="), stats);
+	}
+
+	private static HttpURLConnection open(String path) throws IOException {
+		return (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+	}
+
+	/**
+	 * Read the whole response, which leaves the connection to be reused by the next request.
+	 */
+	private static String read(InputStream in) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int read;
+		try (InputStream stream = in) {
+			while ((read = stream.read(buffer)) >= 0) {
+				bytes.write(buffer, 0, read);
+			}
+		}
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
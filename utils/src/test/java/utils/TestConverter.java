@@ -0,0 +1,132 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.RoundingMode;
+import java.util.Locale;
+
+import com.zhong.projects.ConversionStatus;
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+import com.zhong.projects.Vocabulary;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the configured converters")
+class TestConverter {
+
+	private final static Object[][] ROUNDING_SCENARIOS = {
+			{ RoundingMode.HALF_UP, "0.125", "thirteen cents" },
+			{ RoundingMode.HALF_UP, "0.135", "fourteen cents" },
+			{ RoundingMode.HALF_EVEN, "0.125", "twelve cents" },
+			{ RoundingMode.HALF_EVEN, "0.1251", "thirteen cents" },
+			{ RoundingMode.HALF_EVEN, "0.135", "fourteen cents" },
+			{ RoundingMode.HALF_DOWN, "0.125", "twelve cents" },
+			{ RoundingMode.HALF_DOWN, "1.25e-1", "twelve cents" },
+			{ RoundingMode.HALF_DOWN, "0.12500001", "thirteen cents" },
+			{ RoundingMode.DOWN, "0.999", "ninety nine cents" },
+			{ RoundingMode.UP, "0.0001", "one cent" },
+			{ RoundingMode.UP, "0.990", "ninety nine cents" },
+			{ RoundingMode.CEILING, "-0.001", "zero dollar" },
+			{ RoundingMode.CEILING, "0.991", "one dollar" },
+			{ RoundingMode.FLOOR, "-0.001", "minus one cent" },
+			{ RoundingMode.FLOOR, "0.009", "zero dollar" },
+	};
+
+	@Test
+	@DisplayName("The default converter produces the same text as NumberTextConverter")
+	void testDefault() throws Exception {
+		Converter converter = Converter.DEFAULT;
+
+		assertSame(Vocabulary.ENGLISH, converter.getVocabulary());
+		assertEquals(2, converter.getPrecision());
+		assertEquals(RoundingMode.HALF_UP, converter.getRoundingMode());
+		assertEquals(NumberTextConverter.MAX_VALUE, converter.getMaxValue());
+		assertEquals(NumberTextConverter.convert("-7,456,123.456"), converter.convert("-7,456,123.456"));
+		assertEquals(NumberTextConverter.convert(0.995d), converter.convert(0.995d));
+		assertEquals(ConversionStatus.MISPLACED_COMMA, converter.tryConvert("74,56").getStatus());
+	}
+
+	@Test
+	@DisplayName("Integer arguments are converted exactly, not through a float")
+	void testIntegers() throws Exception {
+		Converter converter = Converter.DEFAULT;
+
+		assertEquals(NumberTextConverter.convert("16777217"), converter.convert(16777217));
+		assertEquals(NumberTextConverter.convert("123456789"), converter.convert(123456789L));
+		assertEquals("one dollar and fifty cents", converter.convertFloat(1.5f));
+	}
+
+	@Test
+	@DisplayName("The fraction is rounded with the rounding mode")
+	void testRoundingModes() throws Exception {
+		for (Object[] tc : ROUNDING_SCENARIOS) {
+			Converter converter = Converter.builder().roundingMode((RoundingMode) tc[0]).build();
+			assertEquals(tc[2], converter.convert((String) tc[1]), tc[0] + " " + tc[1]);
+		}
+	}
+
+	@Test
+	@DisplayName("The precision decides the fraction units")
+	void testPrecision() throws Exception {
+		Converter dinar = Converter.builder().precision(3).currency("dinar", "dinars", "fil", "fils").build();
+		assertEquals("one dinar and two hundred thirty four fils", dinar.convert("1.2344"));
+		assertEquals("one dinar and one fil", dinar.convert("10.005e-1"));
+
+		Converter yen = Converter.builder().precision(0).currency("yen", "yen", "sen", "sen").build();
+		assertEquals("thirteen yen", yen.convert("12.5"));
+		assertEquals("twelve yen", yen.toBuilder().roundingMode(RoundingMode.HALF_EVEN).build().convert("12.5"));
+		assertEquals("fourteen yen", yen.toBuilder().roundingMode(RoundingMode.HALF_EVEN).build().convert("13.5"));
+	}
+
+	@Test
+	@DisplayName("The parsed amount keeps the precision of the converter")
+	void testParsedPrecision() throws Exception {
+		ParsedAmount amount = new ParsedAmount();
+		Converter dinar = Converter.builder().precision(3).build();
+		assertEquals(ConversionStatus.OK, dinar.tryParse("-1.005", amount));
+		assertEquals(3, amount.getPrecision());
+		assertEquals("-1.005", amount.toString());
+		assertEquals(-1005L, amount.getAmountInCents());
+		dinar.tryParse("12.05", amount);
+		assertEquals("12.050", amount.toString());
+
+		Converter yen = Converter.builder().precision(0).build();
+		yen.tryParse("12.5", amount);
+		assertEquals("13", amount.toString());
+		assertEquals(13L, amount.getAmountInCents());
+
+		Converter.DEFAULT.tryParse("7.05", amount);
+		assertEquals("7.05", amount.toString());
+		assertEquals(705L, amount.getAmountInCents());
+	}
+
+	@Test
+	@DisplayName("Numbers beyond the maximal value are out of the range")
+	void testMaxValue() throws Exception {
+		Converter converter = Converter.builder().maxValue(1000).locale(Locale.UK).build();
+
+		assertEquals("one thousand dollars", converter.convert("1000"));
+		assertEquals("minus one thousand dollars", converter.convert(-1000d));
+		NumberTextConverter.NumberOutOfRangeException e = assertThrows(NumberTextConverter.NumberOutOfRangeException.class,
+				() -> converter.convert("1000.01"));
+		assertTrue(e.toString().contains("1000"));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class, () -> converter.convert(1000.5d));
+		assertEquals(ConversionStatus.OUT_OF_RANGE, converter.tryConvert("1,001").getStatus());
+		assertEquals("one hundred and one dollars", converter.convert("101"));
+	}
+
+	@Test
+	@DisplayName("Invalid settings are rejected")
+	void testInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> Converter.builder().precision(4));
+		assertThrows(IllegalArgumentException.class, () -> Converter.builder().roundingMode(RoundingMode.UNNECESSARY));
+		assertThrows(IllegalArgumentException.class, () -> Converter.builder().maxValue(0));
+		assertThrows(IllegalArgumentException.class, () -> Converter.builder().maxValue(Long.MAX_VALUE));
+		assertThrows(IllegalArgumentException.class, () -> Converter.builder().currency("euro", null, "cent", "cents"));
+	}
+}
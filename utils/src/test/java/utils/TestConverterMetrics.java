@@ -0,0 +1,99 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.zhong.projects.ConverterMetrics;
+import com.zhong.projects.ConverterMetrics.EntryPoint;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the metrics of the conversions")
+class TestConverterMetrics {
+
+	private final ConverterMetrics metrics = ConverterMetrics.getInstance();
+
+	@BeforeEach
+	void resetMetrics() {
+		metrics.reset();
+	}
+
+	@Test
+	@DisplayName("Calls and outcomes are counted by entry point")
+	void testCounters() throws Exception {
+		NumberTextConverter.convert("1,234.56");
+		NumberTextConverter.convert(12.5d);
+		NumberTextConverter.tryConvert("12x");
+		NumberTextConverter.tryConvert(1e17d);
+		assertThrows(NumberFormatException.class, () -> NumberTextConverter.convert(".5"));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class,
+				     () -> NumberTextConverter.convert("1000000000000000001"));
+
+		ConverterMetrics.Snapshot snapshot = metrics.snapshot();
+		assertEquals(4, snapshot.getCalls(EntryPoint.STRING));
+		assertEquals(2, snapshot.getCalls(EntryPoint.DOUBLE));
+		assertEquals(6, snapshot.getTotalCalls());
+		assertEquals(2, snapshot.getSuccesses());
+		assertEquals(2, snapshot.getNumberFormatErrors());
+		assertEquals(2, snapshot.getNumberOutOfRangeErrors());
+		assertEquals(6, sum(snapshot.getLatencyHistogram()));
+		assertTrue(snapshot.getLatencyPercentileNanos(0.99) > 0);
+	}
+
+	@Test
+	@DisplayName("Warming up records nothing")
+	void testWarmUp() {
+		NumberTextConverter.warmUp();
+		assertEquals(0, metrics.snapshot().getTotalCalls());
+	}
+
+	@Test
+	@DisplayName("Inputs are counted by length and by groups of 3 digits")
+	void testHistograms() throws Exception {
+		NumberTextConverter.convert("");
+		NumberTextConverter.convert("7");
+		NumberTextConverter.convert("1,234,567.89");
+		NumberTextConverter.tryConvert("-1000000000000000000");
+
+		ConverterMetrics.Snapshot snapshot = metrics.snapshot();
+		long[] lengths = snapshot.getInputLengthHistogram();
+		assertEquals(1, lengths[0]);
+		assertEquals(1, lengths[1]);
+		assertEquals(1, lengths[4]);
+		assertEquals(1, lengths[5]);
+
+		long[] groups = snapshot.getGroupCountHistogram();
+		assertEquals(1, groups[0]);
+		assertEquals(1, groups[1]);
+		assertEquals(1, groups[3]);
+		assertEquals(1, groups[7]);
+	}
+
+	@Test
+	@DisplayName("The metrics are readable through JMX")
+	void testMBean() throws Exception {
+		ConverterMetrics.registerMBean();
+		ConverterMetrics.registerMBean();
+		NumberTextConverter.convert("42");
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(ConverterMetrics.OBJECT_NAME);
+		assertEquals(1L, server.getAttribute(name, "StringCalls"));
+		assertEquals(1L, server.getAttribute(name, "Successes"));
+	}
+
+	private static long sum(long[] values) {
+		long total = 0;
+		for (long value : values) {
+			total += value;
+		}
+		return total;
+	}
+}
@@ -0,0 +1,108 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.zhong.projects.FileConverter;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test converting a file of amounts")
+class TestFileConverter {
+
+	private Path directory;
+
+	@BeforeEach
+	void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("file-converter");
+	}
+
+	@AfterEach
+	void deleteDirectory() throws IOException {
+		for (Path file : Files.newDirectoryStream(directory)) {
+			Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	@DisplayName("Lines are converted in order across many chunks and invalid lines are rejected")
+	void testConvertFile() throws Exception {
+		List<String> lines = new ArrayList<>();
+		List<String> expected = new ArrayList<>();
+		List<String> expectedRejects = new ArrayList<>();
+
+		for (int i = 0; i < 3000; i++) {
+			String line;
+			if (i % 100 == 42) {
+				line = "74,56," + i;
+				expectedRejects.add((i + 1) + "\t" + line + "\tMISPLACED_COMMA");
+			} else if (i % 100 == 77) {
+				line = "1000000000000000001";
+				expectedRejects.add((i + 1) + "\t" + line + "\tOUT_OF_RANGE");
+			} else {
+				line = (i - 1500) + "." + (i % 100);
+				expected.add(NumberTextConverter.convert(line));
+			}
+			lines.add(line);
+		}
+
+		Path input = directory.resolve("amounts.txt");
+		Files.write(input, lines, StandardCharsets.ISO_8859_1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			FileConverter.Summary summary = FileConverter.convertFile(input, directory.resolve("texts.txt"), 
+					directory.resolve("rejects.txt"), executor, 100);
+
+			assertEquals(3000, summary.getLines());
+			assertEquals(expectedRejects.size(), summary.getRejected());
+			assertEquals(expected.size(), summary.getConverted());
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(expected, Files.readAllLines(directory.resolve("texts.txt"), StandardCharsets.ISO_8859_1));
+		assertEquals(expectedRejects, Files.readAllLines(directory.resolve("rejects.txt"), StandardCharsets.ISO_8859_1));
+	}
+
+	@Test
+	@DisplayName("Windows line ends, quoted CSV fields and empty lines are handled")
+	void testConvertFileFormats() throws Exception {
+		Path input = directory.resolve("amounts.csv");
+		Files.write(input, "\"7,456,123.20\"\r\n\r\n 45 \r\n-0.5".getBytes(StandardCharsets.ISO_8859_1));
+
+		FileConverter.Summary summary = FileConverter.convertFile(input, directory.resolve("texts.txt"), 
+				directory.resolve("rejects.txt"));
+
+		assertEquals(4, summary.getLines());
+		assertEquals(0, summary.getRejected());
+		List<String> texts = Files.readAllLines(directory.resolve("texts.txt"), StandardCharsets.ISO_8859_1);
+		assertEquals(NumberTextConverter.convert("7,456,123.20"), texts.get(0));
+		assertEquals("", texts.get(1));
+		assertEquals("forty five dollars", texts.get(2));
+		assertEquals("minus fifty cents", texts.get(3));
+	}
+
+	@Test
+	@DisplayName("An empty file produces empty outputs")
+	void testConvertEmptyFile() throws Exception {
+		Path input = directory.resolve("empty.txt");
+		Files.write(input, new byte[0]);
+
+		FileConverter.Summary summary = FileConverter.convertFile(input, directory.resolve("texts.txt"), 
+				directory.resolve("rejects.txt"));
+
+		assertEquals(0, summary.getLines());
+		assertEquals(0, Files.size(directory.resolve("texts.txt")));
+	}
+}
@@ -0,0 +1,64 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.Random;
+
+import com.zhong.projects.Converter;
+import com.zhong.projects.IncrementalConverter;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test converting sequences of amounts reusing the previous text")
+class TestIncrementalConverter {
+
+	private final static String[] SCENARIOS = {
+			"1,000,001", "1,000,002", "1,001,002", "-1,001,002", "-1,001,002.5", "0", "0.5", "-0.5", "7", "7,000",
+			"7,000.01", "", "999999999999999999.99", "1000000000000000000", "999999999999999999.98", "1,005", "5"
+	};
+
+	@Test
+	@DisplayName("Every text of a sorted batch is the same as the converted String")
+	void testSorted() {
+		IncrementalConverter converter = new IncrementalConverter();
+		Random random = new Random(24);
+		long amount = -2000000000L;
+		for (int i = 0; i < 100000; i++) {
+			assertEquals(NumberTextConverter.convertCents(amount), converter.convertCents(amount).toString());
+			amount += random.nextInt(100000);
+		}
+		assertTrue(converter.getKeptGroups() > converter.getWrittenGroups());
+	}
+
+	@Test
+	@DisplayName("Every text of a random batch is the same as the converted String")
+	void testRandom() {
+		IncrementalConverter converter = new IncrementalConverter();
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			long amount = random.nextLong() >> random.nextInt(64);
+			assertEquals(NumberTextConverter.convertCents(amount), converter.convertCents(amount).toString());
+		}
+		assertEquals(NumberTextConverter.convertCents(Long.MIN_VALUE), converter.convertCents(Long.MIN_VALUE).toString());
+	}
+
+	@Test
+	@DisplayName("Strings are converted with the words of the converter")
+	void testStrings() throws Exception {
+		Converter british = Converter.builder().locale(Locale.UK).build();
+		IncrementalConverter english = new IncrementalConverter();
+		IncrementalConverter incremental = new IncrementalConverter(british);
+		for (String number : SCENARIOS) {
+			assertEquals(NumberTextConverter.convert(number), english.convert(number).toString(), number);
+			assertEquals(british.convert(number), incremental.convert(number).toString(), number);
+		}
+
+		assertThrows(NumberFormatException.class, () -> english.convert("1,23"));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class, () -> english.convert("1000000000000000001"));
+		assertEquals("five dollars", english.convert("5").toString());
+	}
+}
@@ -0,0 +1,61 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the converter appending to a caller supplied output")
+class TestNumberTextConverterAppendable {
+
+	private final static String[] CONVERT_APPENDABLE_SCENARIOS = {
+			"0", "1", "0.01", "-45", "123.46", "7,456,123.46", " 1000000000000000000 ", "-1000000000000000000",
+			"001001001001001001.01", "0.995",
+	};
+
+	@Test
+	@DisplayName("The appended text is the same as the returned text")
+	void testConvertToAppendable() throws Exception {
+		for (String tc : CONVERT_APPENDABLE_SCENARIOS) {
+			StringWriter writer = new StringWriter();
+			writer.append("Pay: ");
+
+			assertSame(writer, NumberTextConverter.convert(tc, writer));
+			assertEquals("Pay: " + NumberTextConverter.convert(tc), writer.toString(), "Input: " + tc);
+		}
+	}
+
+	@Test
+	@DisplayName("Nothing is appended for null or empty input")
+	void testConvertEmptyToAppendable() throws Exception {
+		StringBuilder out = new StringBuilder();
+
+		NumberTextConverter.convert((CharSequence) null, out);
+		NumberTextConverter.convert("  ", out);
+
+		assertEquals("", out.toString());
+	}
+
+	@Test
+	@DisplayName("Invalid input still throws")
+	void testConvertInvalidToAppendable() {
+		assertThrows(NumberFormatException.class, () -> NumberTextConverter.convert("74,56,123", new StringBuilder()));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class,
+				() -> NumberTextConverter.convert("1000000000000000001", new StringBuilder()));
+	}
+
+	@Test
+	@DisplayName("Cents are appended to a StringBuilder")
+	void testConvertCentsToStringBuilder() {
+		StringBuilder out = new StringBuilder("[");
+
+		NumberTextConverter.convertCents(-12346L, out).append(']');
+
+		assertEquals("[minus one hundred twenty three dollars and forty six cents]", out.toString());
+	}
+}
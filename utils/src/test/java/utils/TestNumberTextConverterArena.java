@@ -0,0 +1,73 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.TextArena;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test converting a batch of cents into an off-heap arena of texts")
+class TestNumberTextConverterArena {
+
+	@Test
+	@DisplayName("Every text in the arena is the same as the converted String")
+	void testTexts() {
+		Random random = new Random(20);
+		long[] cents = new long[50000];
+		for (int i = 0; i < cents.length; i++) {
+			cents[i] = random.nextLong() >> random.nextInt(64);
+		}
+		cents[0] = Long.MIN_VALUE;
+		cents[1] = 0;
+
+		// The arena starts small for the few amounts of a short batch, long texts make it grow.
+		TextArena arena = NumberTextConverter.convertAll(LongBuffer.wrap(cents));
+		assertEquals(cents.length, arena.size());
+
+		int total = 0;
+		for (int i = 0; i < cents.length; i++) {
+			String expected = NumberTextConverter.convertCents(cents[i]);
+			assertEquals(expected, arena.getText(i));
+			assertEquals(expected.length(), arena.getLength(i));
+			assertEquals(total, arena.getOffset(i));
+			total += arena.getLength(i);
+		}
+		assertEquals(total, arena.getByteSize());
+		assertEquals(total, arena.getArena().remaining());
+	}
+
+	@Test
+	@DisplayName("Amounts are read from a direct buffer in its byte order and texts are copied out")
+	void testDirectBuffer() {
+		long[] cents = { 1, 100, -745612346, 5 };
+		ByteBuffer input = ByteBuffer.allocateDirect(cents.length * 8 + 8).order(ByteOrder.LITTLE_ENDIAN);
+		input.putLong(999);
+		for (long amount : cents) {
+			input.putLong(amount);
+		}
+		input.flip();
+		input.position(8);
+
+		TextArena arena = NumberTextConverter.convertAll(input);
+		assertEquals(8, input.position());
+		assertEquals(cents.length, arena.size());
+
+		ByteBuffer out = ByteBuffer.allocate(20);
+		assertEquals(-arena.getLength(2), arena.copyTo(2, out));
+		assertEquals(0, out.position());
+		assertEquals(arena.getLength(1), arena.copyTo(1, out));
+		assertEquals("one dollar", new String(out.array(), 0, out.position(), StandardCharsets.UTF_8));
+
+		byte[] bytes = new byte[1 + arena.getLength(2)];
+		int length = arena.copyTo(2, bytes, 1);
+		assertEquals(NumberTextConverter.convertCents(cents[2]), new String(bytes, 1, length, StandardCharsets.UTF_8));
+		assertEquals("five cents", arena.getText(3));
+	}
+}
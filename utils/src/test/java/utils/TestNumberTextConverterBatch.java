@@ -0,0 +1,113 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.zhong.projects.BatchResult;
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the batch conversion")
+class TestNumberTextConverterBatch {
+
+	//Every 7th number of the generated batch is invalid
+	private final static String[] INVALID_NUMBERS = { "74,56,123", "1000000000000000001", ".25", "52345x35.35" };
+
+	/**
+	 * Generate a batch with valid and invalid numbers.
+	 * @param size - the number of numbers.
+	 */
+	private static String[] generateNumbers(int size) {
+		Random random = new Random(size);
+		String[] numbers = new String[size];
+
+		for (int i = 0; i < size; i++) {
+			if (i % 7 == 3) {
+				numbers[i] = INVALID_NUMBERS[i % INVALID_NUMBERS.length];
+			} else {
+				numbers[i] = String.format("%d.%02d", random.nextInt(2000000) - 1000000, random.nextInt(100));
+			}
+		}
+
+		return numbers;
+	}
+
+	/**
+	 * Check the batch result against converting the numbers one by one.
+	 */
+	private static void checkResult(String[] numbers, BatchResult result) {
+		assertEquals(numbers.length, result.size());
+
+		for (int i = 0; i < numbers.length; i++) {
+			try {
+				String expected = NumberTextConverter.convert(numbers[i]);
+				assertTrue(result.isValid(i));
+				assertEquals(expected, result.getText(i), "Input: " + numbers[i]);
+			} catch (Exception e) {
+				assertFalse(result.isValid(i));
+				assertNull(result.getText(i));
+				assertEquals(e.getClass(), result.getError(i).getClass(), "Input: " + numbers[i]);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("An array is converted in order with errors per number")
+	void testConvertArray() {
+		String[] numbers = generateNumbers(20000);
+
+		BatchResult result = NumberTextConverter.convertAll(numbers);
+
+		checkResult(numbers, result);
+		assertEquals((20000 + 3) / 7, result.getErrorCount());
+	}
+
+	@Test
+	@DisplayName("A list is converted in the given pool")
+	void testConvertList() {
+		String[] numbers = generateNumbers(5000);
+		List<String> list = new ArrayList<>();
+		for (String number : numbers) {
+			list.add(number);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			checkResult(numbers, NumberTextConverter.convertAll(list, pool));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	@DisplayName("Cents are converted in order")
+	void testConvertCents() {
+		long[] amounts = new Random(7).longs(10000).toArray();
+		String[] expected = new String[amounts.length];
+		for (int i = 0; i < amounts.length; i++) {
+			expected[i] = NumberTextConverter.convertCents(amounts[i]);
+		}
+
+		assertArrayEquals(expected, NumberTextConverter.convertAll(amounts));
+	}
+
+	@Test
+	@DisplayName("Empty and null numbers are converted to empty texts")
+	void testConvertEmpty() {
+		BatchResult result = NumberTextConverter.convertAll(new String[] { null, "", "1" });
+
+		assertEquals("", result.getText(0));
+		assertEquals("", result.getText(1));
+		assertEquals("one dollar", result.getText(2));
+		assertEquals(0, NumberTextConverter.convertAll(new String[0]).size());
+	}
+}
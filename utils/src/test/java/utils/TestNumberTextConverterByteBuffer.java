@@ -0,0 +1,91 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test writing the text as bytes into a ByteBuffer")
+class TestNumberTextConverterByteBuffer {
+
+	private final static String[] SCENARIOS = {
+			"0", "1", "100", "0.01", "-7,456,123.46", "1000000000000000000", "-999999999999999999.99"
+	};
+
+	@Test
+	@DisplayName("The bytes are the UTF-8 encoding of the text")
+	void testBytes() throws Exception {
+		ByteBuffer heap = ByteBuffer.allocate(1024);
+		ByteBuffer direct = ByteBuffer.allocateDirect(1024);
+		ParsedAmount amount = new ParsedAmount();
+
+		for (String number : SCENARIOS) {
+			NumberTextConverter.tryParse(number, amount);
+			assertEquals(NumberTextConverter.convert(number), write(amount, heap), "Input: " + number);
+			assertEquals(NumberTextConverter.convert(number), write(amount, direct), "Input: " + number);
+		}
+
+		Random random = new Random(14);
+		for (int i = 0; i < 10000; i++) {
+			long cents = random.nextLong() >> random.nextInt(64);
+			direct.clear();
+			int length = NumberTextConverter.convertCents(cents, direct);
+			assertEquals(NumberTextConverter.convertCents(cents), decode(direct, length));
+		}
+	}
+
+	@Test
+	@DisplayName("Nothing is written if the text does not fit")
+	void testOverflow() throws Exception {
+		ParsedAmount amount = NumberTextConverter.tryParse("12.5");
+		int needed = NumberTextConverter.convert("12.5", new StringBuilder()).length();
+
+		ByteBuffer buffer = ByteBuffer.allocate(needed + 3);
+		buffer.position(4);
+		assertEquals(-needed, NumberTextConverter.convert(amount, buffer));
+		assertEquals(4, buffer.position());
+
+		buffer.position(3);
+		assertEquals(needed, NumberTextConverter.convert(amount, buffer));
+		assertEquals(needed + 3, buffer.position());
+	}
+
+	@Test
+	@DisplayName("Other words are encoded in UTF-8, empty and invalid numbers are handled")
+	void testVocabulary() throws Exception {
+		Converter converter = Converter.builder().currency("d\u00e9nar", "d\u00e9nars", "centime", "centimes").build();
+		ParsedAmount amount = new ParsedAmount();
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+
+		converter.tryParse("2.5", amount);
+		int length = converter.convert(amount, buffer);
+		assertEquals("two d\u00e9nars and fifty centimes", decode(buffer, length));
+		assertEquals(converter.convert("2.5").length() + 1, length);
+
+		converter.tryParse(" ", amount);
+		assertEquals(0, converter.convert(amount, buffer));
+		converter.tryParse("1x", amount);
+		assertThrows(IllegalArgumentException.class, () -> converter.convert(amount, buffer));
+	}
+
+	private static String write(ParsedAmount amount, ByteBuffer buffer) {
+		buffer.clear();
+		return decode(buffer, NumberTextConverter.convert(amount, buffer));
+	}
+
+	private static String decode(ByteBuffer buffer, int length) {
+		byte[] bytes = new byte[length];
+		ByteBuffer written = buffer.duplicate();
+		written.position(buffer.position() - length);
+		written.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
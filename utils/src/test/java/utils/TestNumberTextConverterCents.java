@@ -0,0 +1,63 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the converter taking an amount in cents")
+class TestNumberTextConverterCents {
+
+	/*
+	 * The amount in cents and the same amount as a string, which must be converted to the same text.
+	 */
+	private final static Object[][] CONVERT_CENTS_SCENARIOS = {
+			{ 0L, "0" },
+			{ 1L, "0.01" },
+			{ 99L, "0.99" },
+			{ 100L, "1" },
+			{ 101L, "1.01" },
+			{ 200L, "2" },
+			{ -1L, "-0.01" },
+			{ -100L, "-1" },
+			{ -4500L, "-45" },
+			{ 12346L, "123.46" },
+			{ 745612346L, "7,456,123.46" },
+			{ 100100100100L, "1001001001" },
+			{ 900000000000000000L, "9000000000000000" },
+			{ Long.MAX_VALUE, "92233720368547758.07" },
+			{ Long.MIN_VALUE, "-92233720368547758.08" },
+	};
+
+	@Test
+	@DisplayName("Cents are converted to the same text as the string representation")
+	void testConvertCents() throws Exception {
+		for (Object[] tc : CONVERT_CENTS_SCENARIOS) {
+			assertEquals(NumberTextConverter.convert((String) tc[1]), NumberTextConverter.convertCents((long) (Long) tc[0]),
+					"Input: " + tc[0]);
+		}
+	}
+
+	@Test
+	@DisplayName("Cents are converted to the expected text")
+	void testConvertCentsText() {
+		assertEquals("zero dollar", NumberTextConverter.convertCents(0L));
+		assertEquals("one cent", NumberTextConverter.convertCents(1L));
+		assertEquals("one dollar and one cent", NumberTextConverter.convertCents(101L));
+		assertEquals("minus one hundred two thousand two hundred thirty four dollars",
+				NumberTextConverter.convertCents(-10223400L));
+		assertEquals("ninety two quadrillion two hundred thirty three trillion seven hundred twenty billion "
+				+ "three hundred sixty eight million five hundred forty seven thousand seven hundred fifty eight dollars "
+				+ "and seven cents", NumberTextConverter.convertCents(Long.MAX_VALUE));
+	}
+
+	@Test
+	@DisplayName("Integer arguments of convert and textLength are dollars, not cents")
+	void testIntegersAreDollars() throws Exception {
+		assertEquals(NumberTextConverter.convert("100"), NumberTextConverter.convert(100));
+		assertEquals("five dollars", NumberTextConverter.convert(5L));
+		assertEquals(NumberTextConverter.textLength("100"), NumberTextConverter.textLengthCents(10000L));
+		assertEquals(NumberTextConverter.convertCents(10000L), NumberTextConverter.convert(100));
+	}
+}
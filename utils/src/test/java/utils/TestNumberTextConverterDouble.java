@@ -0,0 +1,97 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test rounding float numbers to cents without formatting them")
+class TestNumberTextConverterDouble {
+
+	private final static Object[][] DOUBLE_SCENARIOS = {
+			{ 0.995d, "one dollar" },
+			{ 0.994d, "ninety nine cents" },
+			{ 1.005d, "one dollar and one cent" },
+			{ -0.005d, "minus one cent" },
+			{ -0.004d, "zero dollar" },
+			{ -0.0d, "zero dollar" },
+			{ 4.9E-324d, "zero dollar" },
+			{ 8.795e12d, "eight trillion seven hundred ninety five billion dollars" },
+			{ 0.285d, "twenty nine cents" },
+	};
+
+	private final static Object[][] FLOAT_SCENARIOS = {
+			{ 999.99f, "nine hundred ninety nine dollars and ninety nine cents" },
+			{ -102234f, "minus one hundred two thousand two hundred thirty four dollars" },
+			{ 0.005f, "one cent" },
+			{ 8191.995f, "eight thousand one hundred ninety two dollars" },
+			{ 1.0e10f, "ten billion dollars" },
+	};
+
+	@Test
+	@DisplayName("The shortest representation of a double is rounded HALF_UP")
+	void testDoubleScenarios() throws Exception {
+		for (Object[] tc : DOUBLE_SCENARIOS) {
+			assertEquals(tc[1], NumberTextConverter.convert((double) tc[0]), "Input: " + tc[0]);
+		}
+		assertThrows(NumberFormatException.class, () -> NumberTextConverter.convert(Double.NaN));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class, () -> NumberTextConverter.convert(Double.NEGATIVE_INFINITY));
+	}
+
+	@Test
+	@DisplayName("The shortest representation of a float is rounded HALF_UP")
+	void testFloatScenarios() throws Exception {
+		for (Object[] tc : FLOAT_SCENARIOS) {
+			assertEquals(tc[1], NumberTextConverter.convertFloat((float) tc[0]), "Input: " + tc[0]);
+		}
+		assertThrows(NumberFormatException.class, () -> NumberTextConverter.convertFloat(Float.NaN));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class, () -> NumberTextConverter.convertFloat(Float.MAX_VALUE));
+	}
+
+	@Test
+	@DisplayName("Random doubles and floats are rounded the same way as their string representation")
+	void testRandom() {
+		Random random = new Random(15);
+
+		for (int i = 0; i < 300000; i++) {
+			// Mostly numbers with a few decimals, which are the ones close to half cents
+			double number;
+			switch (random.nextInt(3)) {
+			case 0:
+				number = (random.nextLong() >> random.nextInt(64)) / 1000.0d;
+				break;
+			case 1:
+				number = (random.nextInt(2000001) - 1000000) / 200.0d;
+				break;
+			default:
+				number = Double.longBitsToDouble(random.nextLong() >>> 1) * (random.nextBoolean() ? 1 : -1);
+				break;
+			}
+
+			// The range of float numbers is smaller than the one of strings.
+			String expected = (Math.abs(number) > NumberTextConverter.MAX_FLOAT_VALUE) ? null 
+					: NumberTextConverter.tryConvert(String.valueOf(number)).getText();
+			assertEquals(expected, NumberTextConverter.tryConvert(number).getText(), "Input: " + number);
+
+			float single = (float) number;
+			expected = (Math.abs(single) > NumberTextConverter.MAX_FLOAT_VALUE) ? null 
+					: NumberTextConverter.tryConvert(Float.toString(single)).getText();
+			assertEquals(expected, convert(single), "Input: " + single);
+		}
+	}
+
+	/**
+	 * Convert a float, null if it's not valid.
+	 */
+	private static String convert(float number) {
+		try {
+			return NumberTextConverter.convertFloat(number);
+		} catch (NumberFormatException | NumberTextConverter.NumberOutOfRangeException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import com.zhong.projects.AmountText;
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the texts produced when they're read")
+class TestNumberTextConverterLazy {
+
+	private final static String[] SCENARIOS = {
+			"0", "1", "0.01", "20.5", "1,000,001", "-7,456,123.46", "999999999999999999.99", "1000000000000000000", ""
+	};
+
+	@Test
+	@DisplayName("The text is the same as the converted String however it's read")
+	void testText() throws Exception {
+		for (String number : SCENARIOS) {
+			String expected = NumberTextConverter.convert(number);
+
+			AmountText text = NumberTextConverter.convertLazy(number);
+			assertEquals(expected.length(), text.length(), number);
+			assertEquals(expected, text.appendTo(new StringBuilder()).toString(), number);
+			assertEquals(expected, text.appendTo(new StringWriter()).toString(), number);
+
+			ByteBuffer bytes = ByteBuffer.allocate(400);
+			assertEquals(expected.length(), text.writeTo(bytes), number);
+			assertEquals(expected, new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8), number);
+
+			assertEquals(expected, text.toString(), number);
+			assertSame(text.toString(), text.toString());
+			if (!expected.isEmpty()) {
+				assertEquals(expected.charAt(expected.length() - 1), text.charAt(text.length() - 1), number);
+				assertEquals(expected.substring(1, 5), text.subSequence(1, 5).toString(), number);
+			}
+			assertEquals(expected, new StringBuilder().append(NumberTextConverter.convertLazy(number)).toString(), number);
+		}
+		assertEquals(NumberTextConverter.convertCents(Long.MIN_VALUE), NumberTextConverter.convertLazyCents(Long.MIN_VALUE).toString());
+	}
+
+	@Test
+	@DisplayName("Texts are equal if their values are equal")
+	void testEquality() throws Exception {
+		AmountText text = NumberTextConverter.convertLazy("1,000.5");
+		assertEquals(text, NumberTextConverter.convertLazy("1000.50"));
+		assertEquals(text, NumberTextConverter.convertLazyCents(100050L));
+		assertEquals(text.hashCode(), NumberTextConverter.convertLazyCents(100050L).hashCode());
+		assertNotEquals(text, NumberTextConverter.convertLazyCents(-100050L));
+		assertNotEquals(text, NumberTextConverter.convertLazyCents(100051L));
+
+		AmountText british = Converter.builder().locale(Locale.UK).build().convertLazy("1000.5");
+		assertNotEquals(text, british);
+		assertEquals("one thousand dollars and fifty cents", british.toString());
+	}
+
+	@Test
+	@DisplayName("Invalid numbers are rejected when the text is created")
+	void testInvalid() {
+		assertThrows(NumberFormatException.class, () -> NumberTextConverter.convertLazy("12x"));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class, () -> NumberTextConverter.convertLazy("1000000000000000001"));
+
+		ParsedAmount amount = NumberTextConverter.tryParse("1,23");
+		assertThrows(IllegalArgumentException.class, () -> NumberTextConverter.convertLazy(amount));
+		assertEquals(0, NumberTextConverter.convertLazy(new ParsedAmount()).length());
+	}
+}
@@ -0,0 +1,105 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Locale;
+import java.util.Random;
+
+import com.zhong.projects.ConversionStatus;
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test parsing the text of an amount back to the number")
+class TestNumberTextConverterParseText {
+
+	private final static Object[][] PARSE_SCENARIOS = {
+			{ "minus one hundred two thousand two hundred thirty four dollars and ninety nine cents", -10223499L },
+			{ "zero dollar", 0L },
+			{ "one dollar", 100L },
+			{ "five cents", 5L },
+			{ "One Hundred  Dollars", 10000L },
+			{ "twenty one thousand, five hundred dollars", 2150000L },
+			{ "one quintillion dollars", null },
+			{ "minus one cent", -1L },
+	};
+
+	private final static Object[][] STATUS_SCENARIOS = {
+			{ null, ConversionStatus.EMPTY },
+			{ "  ", ConversionStatus.EMPTY },
+			{ "one", ConversionStatus.INVALID_FORMAT },
+			{ "one hundred dollars and", ConversionStatus.INVALID_FORMAT },
+			{ "twenty twenty dollars", ConversionStatus.INVALID_FORMAT },
+			{ "five twenty dollars", ConversionStatus.INVALID_FORMAT },
+			{ "one thousand one million dollars", ConversionStatus.INVALID_FORMAT },
+			{ "twelve hundred dollars", ConversionStatus.INVALID_FORMAT },
+			{ "one dollar minus", ConversionStatus.INVALID_FORMAT },
+			{ "one hundred cents", ConversionStatus.INVALID_FORMAT },
+			{ "one dollar and five cents dollars", ConversionStatus.INVALID_FORMAT },
+			{ "one doller", ConversionStatus.INVALID_FORMAT },
+			{ "two quintillion dollars", ConversionStatus.OUT_OF_RANGE },
+			{ "one quintillion dollars and one cent", ConversionStatus.OUT_OF_RANGE },
+			{ "nine hundred ninety nine quintillion dollars", ConversionStatus.OUT_OF_RANGE },
+	};
+
+	@Test
+	@DisplayName("The text is parsed to the sign and the cents")
+	void testParse() {
+		for (Object[] tc : PARSE_SCENARIOS) {
+			ParsedAmount amount = NumberTextConverter.parseText((String) tc[0]);
+			assertEquals(ConversionStatus.OK, amount.getStatus(), "Input: " + tc[0]);
+			if (tc[1] != null) {
+				assertEquals(tc[1], amount.getAmountInCents(), "Input: " + tc[0]);
+			}
+		}
+		assertEquals(1000000000000000000L, NumberTextConverter.parseText("one quintillion dollars").getDollars());
+	}
+
+	@Test
+	@DisplayName("Unknown or misplaced words are rejected")
+	void testStatus() {
+		for (Object[] tc : STATUS_SCENARIOS) {
+			assertEquals(tc[1], NumberTextConverter.parseText((String) tc[0]).getStatus(), "Input: " + tc[0]);
+		}
+	}
+
+	@Test
+	@DisplayName("The converted text of random amounts is parsed back to the same amount")
+	void testRoundTrip() throws Exception {
+		Random random = new Random(13);
+		Converter british = Converter.builder().locale(Locale.UK).build();
+		ParsedAmount amount = new ParsedAmount();
+
+		for (int i = 0; i < 20000; i++) {
+			long cents = randomCents(random);
+
+			String text = NumberTextConverter.convertCents(cents);
+			assertEquals(ConversionStatus.OK, Converter.DEFAULT.parseText(text, amount), text);
+			assertEquals(cents, amount.getAmountInCents(), text);
+
+			text = british.convert(amount.toString());
+			assertEquals(ConversionStatus.OK, british.parseText(text, amount), text);
+			assertEquals(cents, amount.getAmountInCents(), text);
+		}
+	}
+
+	/**
+	 * Amounts of every magnitude, with and without cents.
+	 */
+	private static long randomCents(Random random) {
+		long cents = random.nextLong() >>> random.nextInt(64);
+		switch (random.nextInt(3)) {
+		case 0:
+			cents -= cents % 100;
+			break;
+		case 1:
+			cents = -cents;
+			break;
+		default:
+			break;
+		}
+		return cents;
+	}
+}
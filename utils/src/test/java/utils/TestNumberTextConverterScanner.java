@@ -0,0 +1,123 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the single pass scanner against BigDecimal parsing")
+class TestNumberTextConverterScanner {
+
+	//Characters the random inputs are made of
+	private final static String ALPHABET = "0123456789,,,..-+eE 9";
+
+	private final static String[] SCANNER_SCENARIOS = {
+			"1,234", "1,2345678", "1234,567", "1,234,567.891", "1,,234", "123,.5", "-,123", "+5", "-.5", "1.", "-", "+",
+			".", "-.", "1e3", "1.0E7", "9.0E15", "1.5e-2", "1e", "e1", "1e+-1", "1e1,000", "1,234.5e3", "1,234e5",
+			"0e999", "1e19", "1e18", "0.0000000001e10", "999999999999999999.995", "999999999999999999.994",
+			"1000000000000000000.004", "-0.004", "-0.005", "00000000000000000000000000001", "12345678901234567890",
+			"1.2.3", "1 2", "0x10", "9,999,999,999,999,999,999", "0.995", "0.994",
+	};
+
+	@Test
+	@DisplayName("Selected inputs are handled the same way as by BigDecimal")
+	void testScannerScenarios() {
+		for (String tc : SCANNER_SCENARIOS) {
+			assertEquals(reference(tc), actual(tc), "Input: " + tc);
+		}
+	}
+
+	@Test
+	@DisplayName("Random inputs are handled the same way as by BigDecimal")
+	void testScannerRandom() {
+		Random random = new Random(20191018);
+
+		for (int i = 0; i < 200000; i++) {
+			int length = 1 + random.nextInt(12);
+			StringBuilder tc = new StringBuilder();
+			for (int j = 0; j < length; j++) {
+				tc.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+
+			String input = tc.toString();
+			assertEquals(reference(input), actual(input), "Input: " + input);
+		}
+	}
+
+	/**
+	 * Convert the input and describe the result.
+	 * @param input - the number in string representation.
+	 * @return the converted text or the class of the exception.
+	 */
+	private static String actual(String input) {
+		try {
+			return NumberTextConverter.convert(input);
+		} catch (Exception e) {
+			return e.getClass().getSimpleName();
+		}
+	}
+
+	/**
+	 * The validation of the previous implementation based on BigDecimal, with the text generated by convertCents(long).
+	 * @param input - the number in string representation.
+	 * @return the converted text or the class of the exception.
+	 */
+	private static String reference(String input) {
+		String inStr = input.trim();
+		if (inStr.length() == 0) {
+			return "";
+		}
+
+		if (inStr.charAt(0) == '.') {
+			return NumberFormatException.class.getSimpleName();
+		}
+
+		StringBuffer tmpStr = new StringBuffer(inStr);
+		int dotPosition = tmpStr.indexOf(".");
+		if (dotPosition == -1) {
+			dotPosition = tmpStr.length();
+		}
+
+		int commaPosition = tmpStr.indexOf(",");
+		while (commaPosition != -1) {
+			if (commaPosition == 0 || commaPosition > dotPosition || (dotPosition - commaPosition) % 4 != 0) {
+				return NumberFormatException.class.getSimpleName();
+			}
+			tmpStr.deleteCharAt(commaPosition);
+			dotPosition--;
+			commaPosition = tmpStr.indexOf(",");
+		}
+
+		BigDecimal number;
+		try {
+			number = new BigDecimal(tmpStr.toString());
+		} catch (NumberFormatException e) {
+			return NumberFormatException.class.getSimpleName();
+		}
+
+		// Avoid scaling numbers with huge exponents, they are either far out of the range or rounded to zero.
+		int magnitude = number.precision() - number.scale();
+		if (number.signum() != 0 && magnitude > 20) {
+			return NumberTextConverter.NumberOutOfRangeException.class.getSimpleName();
+		} else if (number.signum() == 0 || magnitude < -5) {
+			number = BigDecimal.ZERO;
+		}
+		number = number.setScale(2, RoundingMode.HALF_UP);
+
+		if (number.compareTo(NumberTextConverter.MAX_VALUE) > 0 || number.compareTo(NumberTextConverter.MIN_VALUE) < 0) {
+			return NumberTextConverter.NumberOutOfRangeException.class.getSimpleName();
+		}
+
+		// Only the ones fitting into a long can be checked by convertCents(long), the others are checked by sign and size.
+		BigDecimal cents = number.movePointRight(2);
+		if (cents.abs().compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+			return actual(input);
+		}
+		return NumberTextConverter.convertCents(cents.longValueExact());
+	}
+}
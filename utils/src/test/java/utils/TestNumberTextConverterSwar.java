@@ -0,0 +1,118 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test parsing numbers given as bytes 8 bytes at a time")
+class TestNumberTextConverterSwar {
+
+	private final static String[] SCENARIOS = {
+			"0", "1", " 12345678 ", "123456789012345678", "999999999999999999.99", "1000000000000000000", "1000000000000000000.001",
+			"-7,456,123.46", "+1,000", "1,234,567,890.123456789", "0.00500000001", "0.005", "-0.004", "-.5", "-,123",
+			".5", "1.2.3", "1,23", "12,345.6,7", ",123", "1e3", "1.0E-2", "12 34", "-", "+.", "", "   ", "00000000000000000000001",
+			"1\u00e9", "\u00a0123"
+	};
+
+	private final static char[] ALPHABET = {
+			'0', '1', '5', '9', ',', ',', '.', '-', '+', 'e', ' '
+	};
+
+	@Test
+	@DisplayName("Numbers in byte arrays are parsed the same as strings")
+	void testScenarios() {
+		for (String number : SCENARIOS) {
+			byte[] bytes = ("xx" + number + "yy").getBytes(StandardCharsets.ISO_8859_1);
+			ParsedAmount expected = NumberTextConverter.tryParse(number);
+			ParsedAmount actual = new ParsedAmount();
+
+			// The bytes around the number are read by the 8 byte loads, but they're not part of it.
+			NumberTextConverter.tryParse(bytes, 2, bytes.length - 4, actual);
+			assertSame(expected, actual, number);
+
+			byte[] exact = number.getBytes(StandardCharsets.ISO_8859_1);
+			NumberTextConverter.tryParse(exact, 0, exact.length, actual);
+			assertSame(expected, actual, number);
+		}
+	}
+
+	@Test
+	@DisplayName("Random numbers are parsed the same as strings with every precision")
+	void testRandom() {
+		Random random = new Random(19);
+		Converter[] converters = {
+				Converter.DEFAULT,
+				Converter.builder().precision(0).roundingMode(RoundingMode.HALF_EVEN).build(),
+				Converter.builder().precision(3).roundingMode(RoundingMode.CEILING).maxValue(1000000).build()
+		};
+		ParsedAmount expected = new ParsedAmount();
+		ParsedAmount actual = new ParsedAmount();
+
+		for (int i = 0; i < 200000; i++) {
+			String number = (random.nextInt(4) == 0) ? randomString(random) : randomNumber(random);
+			byte[] bytes = number.getBytes(StandardCharsets.ISO_8859_1);
+			Converter converter = converters[i % converters.length];
+
+			converter.tryParse(number, expected);
+			converter.tryParse(bytes, 0, bytes.length, actual);
+			assertSame(expected, actual, number);
+		}
+	}
+
+	/**
+	 * A string of random characters which mostly appear in numbers.
+	 */
+	private static String randomString(Random random) {
+		char[] chars = new char[random.nextInt(30)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * A valid number of any magnitude, with or without ',' and fraction digits.
+	 */
+	private static String randomNumber(Random random) {
+		StringBuilder number = new StringBuilder();
+		if (random.nextBoolean()) {
+			number.append(random.nextBoolean() ? '-' : '+');
+		}
+
+		String integer = Long.toString(random.nextLong() >>> random.nextInt(64));
+		if (random.nextBoolean()) {
+			for (int i = 0; i < integer.length(); i++) {
+				if (i > 0 && (integer.length() - i) % 3 == 0) {
+					number.append(',');
+				}
+				number.append(integer.charAt(i));
+			}
+		} else {
+			number.append(integer);
+		}
+
+		int fractionDigits = random.nextInt(20);
+		if (fractionDigits > 0) {
+			number.append('.');
+			for (int i = 1; i < fractionDigits; i++) {
+				number.append((char) ('0' + (random.nextInt(3) == 0 ? random.nextInt(10) : 0)));
+			}
+		}
+		return number.toString();
+	}
+
+	private static void assertSame(ParsedAmount expected, ParsedAmount actual, String number) {
+		assertEquals(expected.getStatus(), actual.getStatus(), "Input: " + number);
+		assertEquals(expected.isNegative(), actual.isNegative(), "Input: " + number);
+		assertEquals(expected.getDollars(), actual.getDollars(), "Input: " + number);
+		assertEquals(expected.getCents(), actual.getCents(), "Input: " + number);
+	}
+}
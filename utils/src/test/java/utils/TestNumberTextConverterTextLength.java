@@ -0,0 +1,56 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Locale;
+import java.util.Random;
+
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the length of the texts computed without converting")
+class TestNumberTextConverterTextLength {
+
+	private final static String[] SCENARIOS = {
+			"0", "1", "0.01", "0.99", "20.5", "100", "1,000,001", "-7,456,123.46", "999999999999999999.99", "1000000000000000000", ""
+	};
+
+	@Test
+	@DisplayName("The length is the length of the converted text")
+	void testStrings() throws Exception {
+		Converter british = Converter.builder().locale(Locale.UK).build();
+		for (String number : SCENARIOS) {
+			assertEquals(NumberTextConverter.convert(number).length(), NumberTextConverter.textLength(number), number);
+			assertEquals(british.convert(number).length(), british.textLength(number), number);
+		}
+	}
+
+	@Test
+	@DisplayName("The length of any amount of cents is the length of its text")
+	void testCents() {
+		Random random = new Random(22);
+		for (int i = 0; i < 100000; i++) {
+			long cents = random.nextLong() >> random.nextInt(64);
+			assertEquals(NumberTextConverter.convertCents(cents).length(), NumberTextConverter.textLengthCents(cents));
+		}
+		assertEquals(NumberTextConverter.convertCents(Long.MIN_VALUE).length(), NumberTextConverter.textLengthCents(Long.MIN_VALUE));
+	}
+
+	@Test
+	@DisplayName("Invalid numbers are rejected as they are by the conversion")
+	void testInvalid() throws Exception {
+		assertThrows(NumberFormatException.class, () -> NumberTextConverter.textLength("12x"));
+		assertThrows(NumberTextConverter.NumberOutOfRangeException.class, () -> NumberTextConverter.textLength("1000000000000000001"));
+
+		ParsedAmount amount = new ParsedAmount();
+		assertEquals(0, NumberTextConverter.textLength(amount));
+		NumberTextConverter.tryParse(".5", amount);
+		assertThrows(IllegalArgumentException.class, () -> NumberTextConverter.textLength(amount));
+		NumberTextConverter.tryParse("12.345", amount);
+		assertEquals(NumberTextConverter.convert("12.345").length(), NumberTextConverter.textLength(amount));
+	}
+}
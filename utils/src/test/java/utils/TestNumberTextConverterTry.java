@@ -0,0 +1,105 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zhong.projects.ConversionResult;
+import com.zhong.projects.ConversionStatus;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the non-throwing parse and convert methods")
+class TestNumberTextConverterTry {
+
+	private final static Object[][] TRY_PARSE_SCENARIOS = {
+			{ null, ConversionStatus.EMPTY },
+			{ "  ", ConversionStatus.EMPTY },
+			{ "7,456,123.46", ConversionStatus.OK },
+			{ ".2345353535", ConversionStatus.LEADING_DOT },
+			{ "74,56,123", ConversionStatus.MISPLACED_COMMA },
+			{ ",456,123", ConversionStatus.MISPLACED_COMMA },
+			{ "7,456,123.2,", ConversionStatus.MISPLACED_COMMA },
+			{ "34567 55", ConversionStatus.INVALID_FORMAT },
+			{ "52345x35.35", ConversionStatus.INVALID_FORMAT },
+			{ "535.353.5", ConversionStatus.INVALID_FORMAT },
+			{ "1000000000000000001", ConversionStatus.OUT_OF_RANGE },
+			{ "-1000000000000000001", ConversionStatus.OUT_OF_RANGE },
+	};
+
+	@Test
+	@DisplayName("The status tells why a number is invalid")
+	void testTryParseStatus() {
+		ParsedAmount amount = new ParsedAmount();
+
+		for (Object[] tc : TRY_PARSE_SCENARIOS) {
+			assertEquals(tc[1], NumberTextConverter.tryParse((String) tc[0], amount), "Input: " + tc[0]);
+			assertEquals(tc[1], amount.getStatus());
+			assertEquals(tc[1], NumberTextConverter.tryParse((String) tc[0]).getStatus());
+		}
+	}
+
+	@Test
+	@DisplayName("The sign, dollars and cents of a valid number are parsed")
+	void testTryParseAmount() {
+		ParsedAmount amount = NumberTextConverter.tryParse("-7,456,123.456");
+
+		assertTrue(amount.isValid());
+		assertTrue(amount.isNegative());
+		assertEquals(7456123L, amount.getDollars());
+		assertEquals(46, amount.getCents());
+		assertEquals(-745612346L, amount.getAmountInCents());
+		assertEquals("-7456123.46", amount.toString());
+
+		assertEquals(ConversionStatus.OK, NumberTextConverter.tryParse(0.995d, amount));
+		assertEquals(100L, amount.getAmountInCents());
+		assertEquals(ConversionStatus.OUT_OF_RANGE, NumberTextConverter.tryParse(9000000000000001d, amount));
+		assertEquals(ConversionStatus.INVALID_FORMAT, NumberTextConverter.tryParse(Double.NaN, amount));
+		assertFalse(amount.isValid());
+
+		assertThrows(ArithmeticException.class, () -> NumberTextConverter.tryParse("999999999999999999").getAmountInCents());
+	}
+
+	@Test
+	@DisplayName("The text or the status is returned without exceptions")
+	void testTryConvert() throws Exception {
+		ConversionResult result = NumberTextConverter.tryConvert("123.46");
+		assertTrue(result.isValid());
+		assertEquals(NumberTextConverter.convert("123.46"), result.getText());
+
+		result = NumberTextConverter.tryConvert("74,56,123");
+		assertFalse(result.isValid());
+		assertSame(ConversionStatus.MISPLACED_COMMA, result.getStatus());
+		assertNull(result.getText());
+
+		result = NumberTextConverter.tryConvert("");
+		assertTrue(result.isValid());
+		assertEquals("", result.getText());
+
+		assertEquals("nine quadrillion dollars", NumberTextConverter.tryConvert(9000000000000000d).getText());
+		assertSame(ConversionStatus.OUT_OF_RANGE, NumberTextConverter.tryConvert(-9000000000000001d).getStatus());
+
+		StringBuilder out = new StringBuilder();
+		assertSame(ConversionStatus.OK, NumberTextConverter.tryConvert("-45", out));
+		assertSame(ConversionStatus.INVALID_FORMAT, NumberTextConverter.tryConvert("-4x5", out));
+		assertEquals("minus forty five dollars", out.toString());
+	}
+
+	@Test
+	@DisplayName("A parsed number is converted to the same text")
+	void testConvertParsedAmount() throws Exception {
+		ParsedAmount amount = new ParsedAmount();
+		StringBuilder out = new StringBuilder();
+
+		NumberTextConverter.tryParse("001001001001001001.01", amount);
+		assertEquals(NumberTextConverter.convert("001001001001001001.01"), NumberTextConverter.convert(amount, out).toString());
+
+		NumberTextConverter.tryParse("1.2.3", amount);
+		assertThrows(IllegalArgumentException.class, () -> NumberTextConverter.convert(amount, out));
+	}
+}
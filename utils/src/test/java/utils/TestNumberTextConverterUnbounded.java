@@ -0,0 +1,110 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Random;
+
+import com.zhong.projects.NumberTextConverter;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test converting integers of any size with generated scale names")
+class TestNumberTextConverterUnbounded {
+
+	private final static Object[][] SCALE_SCENARIOS = {
+			{ 21, "one sextillion dollars" },
+			{ 33, "one decillion dollars" },
+			{ 36, "one undecillion dollars" },
+			{ 54, "one septendecillion dollars" },
+			{ 63, "one vigintillion dollars" },
+			{ 72, "one tresvigintillion dollars" },
+			{ 303, "one centillion dollars" },
+			{ 321, "one sexcentillion dollars" },
+			{ 3003, "one millinillion dollars" },
+			{ 3006, "one millimillion dollars" },
+	};
+
+	private final static String[] INVALID_SCENARIOS = {
+			"", " ", "-", "1.5", "1,000", "12a"
+	};
+
+	@Test
+	@DisplayName("The scales are named by the Conway-Wechsler system")
+	void testScales() {
+		for (Object[] tc : SCALE_SCENARIOS) {
+			assertEquals(tc[1], NumberTextConverter.convertUnbounded(BigInteger.TEN.pow((int) tc[0])), "Power: " + tc[0]);
+		}
+		assertEquals("minus twenty five sextillion one hundred  thousand one dollars", 
+				NumberTextConverter.convertUnbounded(new BigInteger("-25000000000000000100001")));
+	}
+
+	@Test
+	@DisplayName("The text is the same as the bounded conversion in its range")
+	void testSameAsBounded() throws Exception {
+		Random random = new Random(16);
+		for (int i = 0; i < 20000; i++) {
+			long number = random.nextLong() >> random.nextInt(64);
+			if (Math.abs(number) > 1000000000000000000L) {
+				continue;
+			}
+			String digits = Long.toString(number);
+			assertEquals(NumberTextConverter.convert(digits), NumberTextConverter.convertUnbounded(digits, new StringBuilder()).toString(), 
+					"Input: " + digits);
+		}
+		assertEquals("zero dollar", NumberTextConverter.convertUnbounded(BigInteger.ZERO));
+		assertEquals("one dollar", NumberTextConverter.convertUnbounded(" +0001 ", new StringBuilder()).toString());
+	}
+
+	@Test
+	@DisplayName("Thousands of digits are streamed to a Writer")
+	void testStream() throws Exception {
+		StringBuilder digits = new StringBuilder();
+		for (int i = 0; i < 99999; i++) {
+			digits.append((char) ('1' + i % 9));
+		}
+
+		CountingWriter writer = new CountingWriter();
+		NumberTextConverter.convertUnbounded(digits, writer);
+		assertTrue(writer.count > digits.length() * 10L);
+		assertTrue(writer.last.endsWith("million four hundred fifty six thousand seven hundred eighty nine dollars"), writer.last);
+	}
+
+	@Test
+	@DisplayName("Invalid digits are rejected without writing anything")
+	void testInvalid() {
+		for (String digits : INVALID_SCENARIOS) {
+			StringBuilder out = new StringBuilder();
+			assertThrows(NumberFormatException.class, () -> NumberTextConverter.convertUnbounded(digits, out), "Input: " + digits);
+			assertEquals(0, out.length(), "Input: " + digits);
+		}
+	}
+
+	/**
+	 * Counts the characters and keeps only the last ones.
+	 */
+	private static class CountingWriter extends Writer {
+
+		private long count;
+
+		private String last = "";
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			count += len;
+			String text = last + new String(cbuf, off, len);
+			last = text.substring(Math.max(0, text.length() - 100));
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.Properties;
+
+import com.zhong.projects.ConversionStatus;
+import com.zhong.projects.Converter;
+import com.zhong.projects.NumberTextConverter;
+import com.zhong.projects.ParsedAmount;
+import com.zhong.projects.Vocabulary;
+
+import org.junit.jupiter.api.*;
+
+@DisplayName("Test the vocabularies of other languages")
+class TestVocabulary {
+
+	private final static String[] ENGLISH_SCENARIOS = {
+			"0", "1", "2", "100", "0.01", "0.99", "-7,456,123.46", "1000000000000000000", "1,000,001", "20.5"
+	};
+
+	private final static String[][] BRITISH_SCENARIOS = {
+			{ "105", "one hundred and five dollars" },
+			{ "1005", "one thousand and five dollars" },
+			{ "1105", "one thousand one hundred and five dollars" },
+			{ "2,000,021.5", "two million and twenty one dollars and fifty cents" },
+			{ "1,000,100", "one million one hundred  dollars" },
+			{ "1", "one dollar" },
+	};
+
+	@Test
+	@DisplayName("The English vocabulary produces the default text")
+	void testEnglish() throws Exception {
+		assertSame(Vocabulary.ENGLISH, Vocabulary.forLocale(Locale.US));
+
+		for (String number : ENGLISH_SCENARIOS) {
+			assertEquals(NumberTextConverter.convert(number), NumberTextConverter.convert(number, Vocabulary.ENGLISH));
+		}
+		assertEquals(NumberTextConverter.convert(12.5d), NumberTextConverter.convert(12.5d, Vocabulary.ENGLISH));
+	}
+
+	@Test
+	@DisplayName("British English puts 'and' after the hundreds")
+	void testBritish() throws Exception {
+		Vocabulary british = Vocabulary.forLocale(Locale.UK);
+		assertSame(british, Vocabulary.forLocale(new Locale("en", "GB", "x")));
+
+		for (String[] tc : BRITISH_SCENARIOS) {
+			assertEquals(tc[1], NumberTextConverter.convert(tc[0], british), "Input: " + tc[0]);
+		}
+	}
+
+	@Test
+	@DisplayName("A vocabulary can be compiled from properties")
+	void testFromProperties() throws Exception {
+		Properties words = new Properties();
+		words.load(TestVocabulary.class.getResourceAsStream("/com/zhong/projects/vocabulary_en.properties"));
+		words.setProperty("tens.separator", "-");
+		words.setProperty("number.100", "a hundred");
+		words.setProperty("currency.integer", "euro");
+		words.setProperty("currency.integer.plural", "euros");
+		Vocabulary vocabulary = Vocabulary.fromProperties("hyphen", words);
+
+		assertEquals("a hundred euros", NumberTextConverter.convert("100", vocabulary));
+		assertEquals("twenty-three thousand euros and forty-five cents", NumberTextConverter.convert("23000.45", vocabulary));
+		assertEquals("one euro", NumberTextConverter.convert("1", vocabulary));
+
+		words.remove("hundred");
+		assertThrows(IllegalArgumentException.class, () -> Vocabulary.fromProperties("broken", words));
+	}
+
+	@Test
+	@DisplayName("The tables built on the first use write and parse the same text as the Strings")
+	void testTablesBuiltOnFirstUse() throws Exception {
+		Properties words = new Properties();
+		words.load(TestVocabulary.class.getResourceAsStream("/com/zhong/projects/vocabulary_en.properties"));
+		words.setProperty("tens.separator", "-");
+		Converter converter = Converter.builder().vocabulary(Vocabulary.fromProperties("lazy", words)).build();
+
+		ParsedAmount amount = converter.parseText("minus seventy-one thousand dollars and twenty-two cents");
+		assertEquals(ConversionStatus.OK, amount.getStatus());
+		assertEquals(-7100022L, amount.getAmountInCents());
+
+		ByteBuffer out = ByteBuffer.allocate(100);
+		int length = converter.convert(amount, out);
+		assertEquals(converter.convert("-71000.22"), new String(out.array(), 0, length, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	@DisplayName("A language without words is rejected")
+	void testMissingLanguage() {
+		assertThrows(MissingResourceException.class, () -> Vocabulary.forLocale(Locale.JAPANESE));
+	}
+}